@@ -0,0 +1,55 @@
+package io.tjf.releasenotes.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.tjf.releasenotes.generator.Section;
+import io.tjf.releasenotes.generator.Sections;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Measures the collation of the conventional commits into the default
+ * sections.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollationBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	private int size;
+
+	private Sections sections;
+	private List<ConventionalCommit> commits;
+
+	@Setup
+	public void setup() {
+		sections = new Sections(new ReleaseNotesProperties());
+		commits = SyntheticCommits.conventionalCommits(size);
+	}
+
+	@Benchmark
+	public Map<Section, List<ConventionalCommit>> collate() {
+		return sections.collate(commits);
+	}
+
+}
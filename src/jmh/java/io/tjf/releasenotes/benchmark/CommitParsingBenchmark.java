@@ -0,0 +1,60 @@
+package io.tjf.releasenotes.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.tjf.releasenotes.helper.CommitComment;
+import io.tjf.releasenotes.helper.CommitUtils;
+
+/**
+ * Measures the extraction of the conventional commit fields from the commit
+ * comments and of the breaking changes from the pull request descriptions.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommitParsingBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	private int size;
+
+	private List<String> comments;
+	private List<String> descriptions;
+
+	@Setup
+	public void setup() {
+		comments = SyntheticCommits.comments(size);
+		descriptions = SyntheticCommits.descriptions(size);
+	}
+
+	@Benchmark
+	public void parseComments(final Blackhole blackhole) {
+		for (String comment : comments)
+			blackhole.consume(CommitComment.parse(comment));
+	}
+
+	@Benchmark
+	public void parseBreakingChanges(final Blackhole blackhole) {
+		for (String description : descriptions)
+			blackhole.consume(CommitUtils.getFormmatedBreakingChangeTextFromPullRequestDescription(description));
+	}
+
+}
@@ -0,0 +1,76 @@
+package io.tjf.releasenotes.benchmark;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.tjf.releasenotes.generator.MarkdownWriter;
+import io.tjf.releasenotes.generator.Section;
+import io.tjf.releasenotes.generator.Sections;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Measures the markdown rendering of a collated release, both discarding the
+ * output and building it in memory.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderingBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	private int size;
+
+	private ReleaseNotesProperties properties;
+	private Map<Section, List<ConventionalCommit>> release;
+
+	@Setup
+	public void setup() {
+		properties = new ReleaseNotesProperties();
+		properties.setTitle("Release Notes");
+		properties.setIssueLinkBaseUrl("https://jira.example.com/browse");
+		properties.getAzure().setOrganization("organization");
+		properties.getAzure().setProject("project");
+		properties.getAzure().setRepository("repository");
+
+		release = new Sections(properties).collate(SyntheticCommits.conventionalCommits(size));
+	}
+
+	@Benchmark
+	public void render() throws IOException {
+		var markdown = new MarkdownWriter(Writer.nullWriter(), properties);
+		markdown.writeTitle(properties.getTitle());
+		markdown.writeRelease("1.0.0", release);
+	}
+
+	@Benchmark
+	public String renderToString() throws IOException {
+		var content = new StringWriter();
+		var markdown = new MarkdownWriter(content, properties);
+		markdown.writeTitle(properties.getTitle());
+		markdown.writeRelease("1.0.0", release);
+		return content.toString();
+	}
+
+}
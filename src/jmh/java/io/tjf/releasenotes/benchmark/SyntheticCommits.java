@@ -0,0 +1,139 @@
+package io.tjf.releasenotes.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.tjf.releasenotes.helper.CommitComment;
+import io.tjf.releasenotes.helper.CommitUtils;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+
+/**
+ * Generates realistic commit comments and pull request descriptions for the
+ * benchmarks.
+ * <p>
+ * The data is built from a fixed seed, so every run measures the same input.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class SyntheticCommits {
+
+	private static final long SEED = 20200901L;
+
+	private static final String[] TYPES = { "feat", "fix", "docs", "refactor", "perf", "test", "chore", "style",
+			"Feat", "FIX" };
+	private static final String[] COMPONENTS = { "core", "api", "security", "web", "data-jpa", "mongodb", "i18n",
+			"logging", "rest", "validation" };
+	private static final String[] VERBS = { "add", "remove", "update", "fix", "improve", "rename", "support",
+			"deprecate" };
+	private static final String[] SUBJECTS = { "the pagination of the collection endpoints",
+			"a null pointer when the tenant is missing", "the message bundle lookup",
+			"the retry of failed requests", "support to the new expand parameter", "the documentation examples",
+			"the serialization of dates with offset", "the default sort order" };
+	private static final String[] PROJECTS = { "TJF", "DEVOPS", "SUPPORT" };
+
+	private SyntheticCommits() {
+	}
+
+	/**
+	 * Return commit comments as they come from the Azure commits API.
+	 * <p>
+	 * Most comments are merged pull requests with a conventional commit message,
+	 * with or without a component and an issue suffix. Some are plain commits or
+	 * don't follow the convention at all.
+	 * 
+	 * @param size number of comments
+	 * @return list of commit comments
+	 */
+	public static List<String> comments(final int size) {
+		var random = new Random(SEED);
+		List<String> comments = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++)
+			comments.add(comment(random, i + 1));
+
+		return comments;
+	}
+
+	/**
+	 * Return pull request descriptions, about one in ten with a breaking change.
+	 * 
+	 * @param size number of descriptions
+	 * @return list of pull request descriptions
+	 */
+	public static List<String> descriptions(final int size) {
+		var random = new Random(SEED);
+		List<String> descriptions = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+			var description = new StringBuilder();
+			description.append("This pull request will ").append(pick(random, VERBS)).append(' ')
+					.append(pick(random, SUBJECTS)).append(".\n\nRelated work items: #").append(random.nextInt(90000));
+
+			if (random.nextInt(10) == 0)
+				description.append("\n\nBREAKING CHANGE: ").append(pick(random, SUBJECTS))
+						.append(" no longer accepts the old format.");
+
+			descriptions.add(description.toString());
+		}
+
+		return descriptions;
+	}
+
+	/**
+	 * Return conventional commits as they are extracted from the synthetic
+	 * comments and descriptions.
+	 * 
+	 * @param size number of conventional commits
+	 * @return list of conventional commits
+	 */
+	public static List<ConventionalCommit> conventionalCommits(final int size) {
+		var comments = comments(size);
+		var descriptions = descriptions(size);
+		List<ConventionalCommit> commits = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+			var comment = CommitComment.parse(comments.get(i));
+
+			if (comment.getIssueType() == null)
+				continue;
+
+			commits.add(ConventionalCommit.of(comment.getPullRequestId(), comment.getIssueType(), comment.getIssue(),
+					comment.getComponent(), comment.getMessage(),
+					CommitUtils.getFormmatedBreakingChangeTextFromPullRequestDescription(descriptions.get(i))));
+		}
+
+		return commits;
+	}
+
+	private static String comment(final Random random, final int pullRequestId) {
+		var comment = new StringBuilder(128);
+		var kind = random.nextInt(20);
+
+		// About one in twenty commits are direct pushes or merges that don't follow
+		// the convention.
+		if (kind == 0)
+			return "Merge branch 'develop' into " + pick(random, COMPONENTS);
+
+		if (kind < 18)
+			comment.append("Merged PR ").append(pullRequestId).append(": ");
+
+		comment.append(pick(random, TYPES));
+
+		if (random.nextInt(3) > 0)
+			comment.append('(').append(pick(random, COMPONENTS)).append(')');
+
+		comment.append(": ").append(pick(random, VERBS)).append(' ').append(pick(random, SUBJECTS));
+
+		if (random.nextInt(4) > 0)
+			comment.append(" (").append(pick(random, PROJECTS)).append('-').append(1 + random.nextInt(9999))
+					.append(')');
+
+		return comment.toString();
+	}
+
+	private static String pick(final Random random, final String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+}
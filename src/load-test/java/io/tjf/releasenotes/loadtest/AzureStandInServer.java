@@ -0,0 +1,423 @@
+package io.tjf.releasenotes.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Offline stand-in of the Azure DevOps Git REST API, serving a
+ * {@link SyntheticRepository}.
+ * <p>
+ * It implements the {@code commits}, {@code pullRequests},
+ * {@code pullRequests/{id}} and {@code pullRequests/{id}/labels} endpoints of
+ * any organization, project and repository, and can inject latency, throttled
+ * responses ({@code 429} with a {@code Retry-After} header) and transient
+ * errors ({@code 503}).
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class AzureStandInServer implements AutoCloseable {
+
+	private static final String REPOSITORY_PATH = "_apis/git/repositories/";
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	static {
+		// Don't let the JDK server hold small responses back.
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final SyntheticRepository repository;
+	private final Duration latency;
+	private final double throttleRate;
+	private final Duration retryAfter;
+	private final double errorRate;
+	private final Random random;
+	private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	/**
+	 * Create the server listening on the given port - or any free port if zero.
+	 * 
+	 * @param repository   synthetic repository
+	 * @param port         server port
+	 * @param latency      delay added to every response
+	 * @param throttleRate ratio of throttled requests, from 0 to 1
+	 * @param retryAfter   delay asked by the throttled responses
+	 * @param errorRate    ratio of requests failed with a transient error, from 0
+	 *                     to 1
+	 * @param seed         seed of the throttling and errors injection
+	 * @throws IOException if the server can't be created
+	 */
+	public AzureStandInServer(final SyntheticRepository repository, final int port, final Duration latency,
+			final double throttleRate, final Duration retryAfter, final double errorRate, final long seed)
+			throws IOException {
+		this.repository = repository;
+		this.latency = latency;
+		this.throttleRate = throttleRate;
+		this.retryAfter = retryAfter;
+		this.errorRate = errorRate;
+		this.random = new Random(seed);
+		this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			var thread = new Thread(runnable, "azure-stand-in");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+	}
+
+	/**
+	 * Serve a synthetic repository until the process is stopped.
+	 * 
+	 * @param args number of commits and server port, default {@code 1000 8080}
+	 * @throws IOException if the server can't be created
+	 */
+	public static void main(final String[] args) throws IOException {
+		var size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		var port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+		var server = new AzureStandInServer(new SyntheticRepository(size, 0), port, Duration.ZERO, 0,
+				Duration.ZERO, 0, 0).start();
+
+		System.out.println("Serving " + size + " commits at " + server.getUrl());
+	}
+
+	/**
+	 * Start the server.
+	 * 
+	 * @return this server
+	 */
+	public AzureStandInServer start() {
+		server.start();
+		return this;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Return the URL to be used as the Azure DevOps services URL.
+	 * 
+	 * @return server URL
+	 */
+	public String getUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Return the number of requests received by endpoint - including the
+	 * throttled and failed ones.
+	 * 
+	 * @return number of requests by endpoint
+	 */
+	public Map<String, Long> getRequests() {
+		Map<String, Long> counts = new TreeMap<>();
+		requests.forEach((endpoint, count) -> counts.put(endpoint, count.get()));
+		return counts;
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			var path = exchange.getRequestURI().getPath();
+			var index = path.indexOf(REPOSITORY_PATH);
+
+			if (index < 0 || !"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+
+			// From: "{repository}/pullRequests/12/labels"
+			// To: ["pullRequests", "12", "labels"]
+			var resource = path.substring(index + REPOSITORY_PATH.length());
+			var segments = resource.substring(resource.indexOf('/') + 1).split("/");
+			var query = parseQuery(exchange.getRequestURI().getRawQuery());
+			var endpoint = getEndpoint(segments);
+
+			requests.computeIfAbsent(endpoint, key -> new AtomicLong()).incrementAndGet();
+			sleep(latency);
+
+			if (inject(throttleRate)) {
+				var seconds = String.valueOf(retryAfter.toMillis() / 1000.0);
+				exchange.getResponseHeaders().set("Retry-After", seconds);
+				exchange.sendResponseHeaders(429, -1);
+				return;
+			}
+
+			if (inject(errorRate)) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+
+			switch (endpoint) {
+			case "commits":
+				respond(exchange, generator -> writeCommits(generator, query));
+				break;
+			case "pullRequests":
+				respond(exchange, generator -> writePullRequests(generator, query));
+				break;
+			case "pullRequest":
+			case "labels":
+				var pullRequestIndex = repository.getPullRequestIndex(parseInt(segments[1], 0));
+
+				if (pullRequestIndex < 0) {
+					exchange.sendResponseHeaders(404, -1);
+				} else if (endpoint.equals("labels")) {
+					respond(exchange, generator -> writeLabels(generator, pullRequestIndex));
+				} else {
+					respond(exchange, generator -> writePullRequest(generator, pullRequestIndex));
+				}
+
+				break;
+			default:
+				exchange.sendResponseHeaders(404, -1);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void writeCommits(final JsonGenerator generator, final Map<String, String> query) throws IOException {
+		var from = parseDate(query.get("searchCriteria.fromDate"));
+		var to = parseDate(query.get("searchCriteria.toDate"));
+		var first = from == null ? 0 : repository.getFirstIndexFrom(from);
+		var last = to == null ? repository.getSize() : repository.getLastIndexUntil(to);
+		var top = parseInt(query.get("searchCriteria.$top"), 100);
+		var skip = parseInt(query.get("searchCriteria.$skip"), 0);
+
+		// Azure lists the commits from the newest to the oldest.
+		var start = last - 1 - skip;
+		var end = Math.max(first, start - top + 1);
+
+		generator.writeStartObject();
+		generator.writeNumberField("count", Math.max(0, start - end + 1));
+		generator.writeArrayFieldStart("value");
+
+		for (int i = start; i >= end; i--)
+			writeCommit(generator, i);
+
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+
+	private void writeCommit(final JsonGenerator generator, final int index) throws IOException {
+		var commitId = repository.getCommitId(index);
+		var date = repository.getCommitDate(index) + ":00Z";
+
+		generator.writeStartObject();
+		generator.writeStringField("commitId", commitId);
+		writeUser(generator, "author", date);
+		writeUser(generator, "committer", date);
+		generator.writeStringField("comment", repository.getComment(index));
+		generator.writeObjectFieldStart("changeCounts");
+		generator.writeNumberField("Add", 1);
+		generator.writeNumberField("Edit", 3);
+		generator.writeNumberField("Delete", 0);
+		generator.writeEndObject();
+		generator.writeStringField("url", getUrl() + "/commits/" + commitId);
+		generator.writeStringField("remoteUrl", getUrl() + "/commit/" + commitId);
+		generator.writeEndObject();
+	}
+
+	private void writePullRequests(final JsonGenerator generator, final Map<String, String> query)
+			throws IOException {
+		var top = parseInt(query.get("$top"), 100);
+		var skip = parseInt(query.get("$skip"), 0);
+		var indexes = repository.getPullRequestIndexes();
+		var end = Math.min(indexes.length, skip + Math.max(0, top));
+		var count = Math.max(0, end - skip);
+
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("value");
+
+		// Azure lists the pull requests from the newest to the oldest.
+		for (int i = skip; i < end; i++)
+			writePullRequest(generator, indexes[i]);
+
+		generator.writeEndArray();
+		generator.writeNumberField("count", count);
+		generator.writeEndObject();
+	}
+
+	private void writePullRequest(final JsonGenerator generator, final int index) throws IOException {
+		var date = repository.getCommitDate(index) + ":00Z";
+
+		generator.writeStartObject();
+		generator.writeNumberField("pullRequestId", repository.getPullRequestId(index));
+		generator.writeNumberField("codeReviewId", repository.getPullRequestId(index));
+		generator.writeStringField("status", "completed");
+		writeUser(generator, "createdBy", date);
+		generator.writeStringField("creationDate", date);
+		generator.writeStringField("closedDate", date);
+		generator.writeStringField("title", repository.getComment(index));
+		generator.writeStringField("description", repository.getDescription(index));
+		generator.writeStringField("sourceRefName", "refs/heads/feature/" + index);
+		generator.writeStringField("targetRefName", "refs/heads/master");
+		generator.writeStringField("mergeStatus", "succeeded");
+		generator.writeArrayFieldStart("reviewers");
+		writeUser(generator, null, date);
+		generator.writeEndArray();
+		generator.writeArrayFieldStart("labels");
+		writeLabel(generator, index);
+		generator.writeEndArray();
+		generator.writeStringField("url", getUrl() + "/pullRequests/" + repository.getPullRequestId(index));
+		generator.writeEndObject();
+	}
+
+	private void writeLabels(final JsonGenerator generator, final int index) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField("count", repository.getLabel(index) == null ? 0 : 1);
+		generator.writeArrayFieldStart("value");
+		writeLabel(generator, index);
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+
+	private void writeLabel(final JsonGenerator generator, final int index) throws IOException {
+		var label = repository.getLabel(index);
+
+		if (label == null)
+			return;
+
+		generator.writeStartObject();
+		generator.writeStringField("id", String.format("%08x-0000-0000-0000-000000000000", label.hashCode()));
+		generator.writeStringField("name", label);
+		generator.writeBooleanField("active", true);
+		generator.writeStringField("url", getUrl() + "/labels/" + label);
+		generator.writeEndObject();
+	}
+
+	private void writeUser(final JsonGenerator generator, final String field, final String date)
+			throws IOException {
+		if (field == null)
+			generator.writeStartObject();
+		else
+			generator.writeObjectFieldStart(field);
+
+		generator.writeStringField("name", "Synthetic User");
+		generator.writeStringField("email", "synthetic.user@example.com");
+		generator.writeStringField("date", date);
+		generator.writeEndObject();
+	}
+
+	private void respond(final HttpExchange exchange, final JsonWriter writer) throws IOException {
+		var encoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+		var gzip = encoding != null && encoding.contains("gzip");
+		var content = new ByteArrayOutputStream(8192);
+
+		try (OutputStream body = gzip ? new GZIPOutputStream(content, 8192) : content;
+				JsonGenerator generator = JSON_FACTORY.createGenerator(body, JsonEncoding.UTF8)) {
+			writer.write(generator);
+		}
+
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+
+		if (gzip)
+			exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+
+		// Send the whole response at once with its length: small chunked writes
+		// stall on the TCP delayed acknowledgments of kept alive connections.
+		exchange.sendResponseHeaders(200, content.size());
+		content.writeTo(exchange.getResponseBody());
+	}
+
+	private boolean inject(final double rate) {
+		if (rate <= 0)
+			return false;
+
+		synchronized (random) {
+			return random.nextDouble() < rate;
+		}
+	}
+
+	private static String getEndpoint(final String[] segments) {
+		if (segments[0].equals("commits"))
+			return "commits";
+
+		if (!segments[0].equals("pullRequests"))
+			return "unknown";
+
+		if (segments.length == 1)
+			return "pullRequests";
+
+		return segments.length > 2 && segments[2].equals("labels") ? "labels" : "pullRequest";
+	}
+
+	private static Map<String, String> parseQuery(final String query) {
+		Map<String, String> parameters = new HashMap<>();
+
+		if (query == null)
+			return parameters;
+
+		for (String parameter : query.split("&")) {
+			var separator = parameter.indexOf('=');
+
+			if (separator > 0)
+				parameters.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+						URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+		}
+
+		return parameters;
+	}
+
+	private static LocalDateTime parseDate(final String date) {
+		if (date == null || date.isEmpty())
+			return null;
+
+		try {
+			return LocalDateTime.parse(date);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	private static int parseInt(final String value, final int defaultValue) {
+		try {
+			return value == null ? defaultValue : Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	private static void sleep(final Duration duration) {
+		if (duration.isZero())
+			return;
+
+		try {
+			Thread.sleep(duration.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@FunctionalInterface
+	private interface JsonWriter {
+		void write(JsonGenerator generator) throws IOException;
+	}
+
+}
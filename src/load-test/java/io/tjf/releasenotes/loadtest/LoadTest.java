@@ -0,0 +1,152 @@
+package io.tjf.releasenotes.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.tjf.releasenotes.Application;
+
+/**
+ * End-to-end load test: generates the release notes of synthetic repositories
+ * of increasing size, served by an {@link AzureStandInServer}, and reports the
+ * wall time, the number of requests and the peak heap of each generation.
+ * <p>
+ * The options are given as {@code key=value} arguments:
+ * <ul>
+ * <li>{@code scales}: comma separated numbers of commits (default
+ * {@code 1000,10000,100000})</li>
+ * <li>{@code latency}: latency of each response in milliseconds (default
+ * {@code 2})</li>
+ * <li>{@code throttle-rate}: ratio of throttled responses (default
+ * {@code 0})</li>
+ * <li>{@code retry-after}: delay asked by the throttled responses in
+ * milliseconds (default {@code 50})</li>
+ * <li>{@code error-rate}: ratio of transient errors (default {@code 0})</li>
+ * <li>{@code pull-request-mode}: {@code single} or {@code bulk} (default
+ * {@code single})</li>
+ * <li>{@code max-concurrency}: maximum concurrent requests (default
+ * {@code 8})</li>
+ * </ul>
+ * Arguments starting with {@code --} are given to the application as they are,
+ * like {@code --releasenotes.azure.http.version=http_1_1}.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class LoadTest {
+
+	private static final String ROW_FORMAT = "%10s %10s %12s %10s %8s %12s %10s  %s%n";
+	private static final long SEED = 20200901L;
+
+	public static void main(final String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		var scales = Arrays.stream(options.getOrDefault("scales", "1000,10000,100000").split(","))
+				.mapToInt(scale -> Integer.parseInt(scale.trim())).toArray();
+
+		System.out.printf(ROW_FORMAT, "commits", "wall ms", "generate ms", "requests", "retries", "peak heap MB",
+				"file KB", "requests by endpoint");
+
+		for (int scale : scales)
+			run(scale, options, args);
+	}
+
+	private static void run(final int scale, final Map<String, String> options, final String[] args)
+			throws Exception {
+		var repository = new SyntheticRepository(scale, SEED);
+		var latency = Duration.ofMillis(Long.parseLong(options.getOrDefault("latency", "2")));
+		var throttleRate = Double.parseDouble(options.getOrDefault("throttle-rate", "0"));
+		var retryAfter = Duration.ofMillis(Long.parseLong(options.getOrDefault("retry-after", "50")));
+		var errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0"));
+		var directory = Files.createTempDirectory("release-notes-load-test");
+
+		try (var server = new AzureStandInServer(repository, 0, latency, throttleRate, retryAfter, errorRate, SEED)
+				.start()) {
+			var file = directory.resolve("CHANGELOG.md");
+			var arguments = getArguments(server, repository, file, options, args);
+
+			System.gc();
+			List<MemoryPoolMXBean> heapPools = getHeapPools();
+			heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+			var start = System.nanoTime();
+
+			// The command processor generates the release notes while the context
+			// starts.
+			try (var context = new SpringApplicationBuilder(Application.class).bannerMode(Banner.Mode.OFF)
+					.logStartupInfo(false).run(arguments)) {
+				var wallTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				var peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+				var registry = context.getBean(MeterRegistry.class);
+				var generateTime = registry.get("releasenotes.run").timer().totalTime(TimeUnit.MILLISECONDS);
+				var retries = registry.get("azure.retries").functionCounter().count();
+				var requests = server.getRequests();
+
+				System.out.printf(ROW_FORMAT, scale, wallTime, Math.round(generateTime),
+						requests.values().stream().mapToLong(Long::longValue).sum(), Math.round(retries),
+						peakHeap / (1024 * 1024), Files.size(file) / 1024, requests);
+			}
+		} finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	private static String[] getArguments(final AzureStandInServer server, final SyntheticRepository repository,
+			final Path file, final Map<String, String> options, final String[] args) {
+		// Two releases, splitting the repository history in half.
+		var middle = SyntheticRepository.FIRST_COMMIT_DATE.plusMinutes(repository.getSize() / 2);
+
+		List<String> arguments = new ArrayList<>(List.of("--logging.level.root=WARN",
+				"--releasenotes.title=Load test", "--releasenotes.file=" + file,
+				"--releasenotes.issue-link-base-url=https://issues.example.com/browse",
+				"--releasenotes.cache.enabled=false", "--releasenotes.azure.url=" + server.getUrl(),
+				"--releasenotes.azure.username=user", "--releasenotes.azure.password=password",
+				"--releasenotes.azure.organization=organization", "--releasenotes.azure.project=project",
+				"--releasenotes.azure.repository=repository",
+				"--releasenotes.azure.pull-request-mode=" + options.getOrDefault("pull-request-mode", "single"),
+				"--releasenotes.azure.max-concurrency=" + options.getOrDefault("max-concurrency", "8"),
+				"--releasenotes.releases[0].title=2.0.0", "--releasenotes.releases[0].from-date=" + middle,
+				"--releasenotes.releases[1].title=1.0.0",
+				"--releasenotes.releases[1].to-date=" + middle.minusSeconds(1)));
+
+		// Application properties are given as they are, overriding the defaults.
+		Arrays.stream(args).filter(arg -> arg.startsWith("--")).forEach(arguments::add);
+		return arguments.toArray(String[]::new);
+	}
+
+	private static List<MemoryPoolMXBean> getHeapPools() {
+		List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP)
+				heapPools.add(pool);
+		}
+
+		return heapPools;
+	}
+
+	private static Map<String, String> parseOptions(final String[] args) {
+		Map<String, String> options = new HashMap<>();
+
+		for (String arg : args) {
+			var separator = arg.indexOf('=');
+
+			if (separator > 0 && !arg.startsWith("--"))
+				options.put(arg.substring(0, separator), arg.substring(separator + 1));
+		}
+
+		return options;
+	}
+
+}
@@ -0,0 +1,141 @@
+package io.tjf.releasenotes.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.FileSystemUtils;
+
+import io.tjf.releasenotes.Application;
+import io.tjf.releasenotes.FastStartApplication;
+
+/**
+ * Startup benchmark: generates the release notes of a small synthetic
+ * repository, served by an {@link AzureStandInServer}, in a new JVM per run,
+ * and reports the process wall time of the default and fast-start modes.
+ * <p>
+ * When the {@code app-cds} build profile layout exists, the runs use its jar
+ * and a third mode runs the fast-start mode with its AppCDS archive.
+ * <p>
+ * The options are given as {@code key=value} arguments:
+ * <ul>
+ * <li>{@code commits}: number of commits of the repository (default
+ * {@code 50})</li>
+ * <li>{@code runs}: measured runs of each mode, after one warm-up run (default
+ * {@code 10})</li>
+ * <li>{@code app-cds}: directory of the {@code app-cds} build profile layout
+ * (default {@code target/app-cds})</li>
+ * </ul>
+ *
+ * @author Rubens dos Santos Filho
+ */
+public class StartupBenchmark {
+
+	private static final String ROW_FORMAT = "%-22s %8s %8s %8s%n";
+	private static final String APP_CDS_JAR = "azure-release-notes-generator-app-cds.jar";
+	private static final String APP_CDS_ARCHIVE = "app.jsa";
+	private static final long SEED = 20200901L;
+
+	public static void main(final String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		var commits = Integer.parseInt(options.getOrDefault("commits", "50"));
+		var runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+		var appCds = Paths.get(options.getOrDefault("app-cds", "target/app-cds"));
+		var directory = Files.createTempDirectory("release-notes-startup-benchmark");
+
+		try (var server = new AzureStandInServer(new SyntheticRepository(commits, SEED), 0, Duration.ZERO, 0,
+				Duration.ZERO, 0, SEED).start()) {
+			var arguments = getArguments(server, directory.resolve("CHANGELOG.md"));
+			Map<String, List<String>> modes = getModes(appCds);
+			var workingDirectory = Files.exists(appCds.resolve(APP_CDS_JAR)) ? appCds : Paths.get("");
+
+			System.out.printf(ROW_FORMAT, "mode", "min ms", "median ms", "max ms");
+
+			for (var mode : modes.entrySet()) {
+				List<String> command = new ArrayList<>(mode.getValue());
+				command.addAll(arguments);
+
+				// The warm-up run loads the jars in the file system cache.
+				run(command, workingDirectory, directory);
+				var times = new long[runs];
+
+				for (int i = 0; i < runs; i++)
+					times[i] = run(command, workingDirectory, directory);
+
+				Arrays.sort(times);
+				System.out.printf(ROW_FORMAT, mode.getKey(), times[0], times[runs / 2], times[runs - 1]);
+			}
+		} finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	private static Map<String, List<String>> getModes(final Path appCds) {
+		var java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+		var jar = appCds.resolve(APP_CDS_JAR);
+		var archive = appCds.resolve(APP_CDS_ARCHIVE);
+
+		// Same classpath for every mode, so only the startup mode changes. The
+		// AppCDS archive holds the jar path relative to the layout directory.
+		var classpath = Files.exists(jar) ? APP_CDS_JAR : System.getProperty("java.class.path");
+		Map<String, List<String>> modes = new LinkedHashMap<>();
+
+		modes.put("default", List.of(java, "-cp", classpath, Application.class.getName()));
+		modes.put("fast-start", List.of(java, "-cp", classpath, Application.class.getName(),
+				FastStartApplication.FAST_START_ARGUMENT));
+
+		if (Files.exists(jar) && Files.exists(archive))
+			modes.put("fast-start + AppCDS", List.of(java, "-Xshare:on", "-XX:SharedArchiveFile=" + APP_CDS_ARCHIVE,
+					"-cp", classpath, FastStartApplication.class.getName()));
+
+		return modes;
+	}
+
+	private static long run(final List<String> command, final Path workingDirectory, final Path directory)
+			throws IOException, InterruptedException {
+		var log = directory.resolve("run.log");
+		var start = System.nanoTime();
+		var process = new ProcessBuilder(command).directory(workingDirectory.toAbsolutePath().toFile())
+				.redirectErrorStream(true).redirectOutput(log.toFile()).start();
+		var exitCode = process.waitFor();
+		var time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		if (exitCode != 0)
+			throw new IllegalStateException("The generation failed with exit code " + exitCode + ":\n"
+					+ Files.readString(log));
+
+		return time;
+	}
+
+	private static List<String> getArguments(final AzureStandInServer server, final Path file) {
+		return List.of("--logging.level.root=WARN", "--releasenotes.title=Startup benchmark",
+				"--releasenotes.file=" + file, "--releasenotes.issue-link-base-url=https://issues.example.com/browse",
+				"--releasenotes.cache.enabled=false", "--releasenotes.azure.url=" + server.getUrl(),
+				"--releasenotes.azure.username=user", "--releasenotes.azure.password=password",
+				"--releasenotes.azure.organization=organization", "--releasenotes.azure.project=project",
+				"--releasenotes.azure.repository=repository", "--releasenotes.releases[0].title=1.0.0");
+	}
+
+	private static Map<String, String> parseOptions(final String[] args) {
+		Map<String, String> options = new HashMap<>();
+
+		for (String arg : args) {
+			var separator = arg.indexOf('=');
+
+			if (separator > 0)
+				options.put(arg.substring(0, separator), arg.substring(separator + 1));
+		}
+
+		return options;
+	}
+
+}
@@ -0,0 +1,212 @@
+package io.tjf.releasenotes.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic Azure DevOps repository.
+ * <p>
+ * Every commit is derived from its index and the seed, so repositories of any
+ * size are generated on demand without being held in memory. The commits are
+ * one minute apart from {@link #FIRST_COMMIT_DATE}, and most of them are
+ * merged pull requests whose id is the commit index plus one.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class SyntheticRepository {
+
+	public static final LocalDateTime FIRST_COMMIT_DATE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	private static final String[] TYPES = { "feat", "fix", "docs", "refactor", "perf", "test", "chore", "style" };
+	private static final String[] COMPONENTS = { "core", "api", "security", "web", "data-jpa", "mongodb", "i18n",
+			"logging", "rest", "validation" };
+	private static final String[] VERBS = { "add", "remove", "update", "fix", "improve", "rename", "support",
+			"deprecate" };
+	private static final String[] SUBJECTS = { "the pagination of the collection endpoints",
+			"a null pointer when the tenant is missing", "the message bundle lookup",
+			"the retry of failed requests", "support to the new expand parameter", "the documentation examples",
+			"the serialization of dates with offset", "the default sort order" };
+
+	private final int size;
+	private final long seed;
+	private int[] pullRequestIndexes;
+
+	public SyntheticRepository(final int size, final long seed) {
+		this.size = size;
+		this.seed = seed;
+	}
+
+	/**
+	 * Return the number of commits.
+	 * 
+	 * @return number of commits
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Return the commit id.
+	 * 
+	 * @param index commit index
+	 * @return commit id
+	 */
+	public String getCommitId(final int index) {
+		return String.format("%040x", (seed << 32) ^ index);
+	}
+
+	/**
+	 * Return the committer date.
+	 * 
+	 * @param index commit index
+	 * @return committer date
+	 */
+	public LocalDateTime getCommitDate(final int index) {
+		return FIRST_COMMIT_DATE.plusMinutes(index);
+	}
+
+	/**
+	 * Return the index of the first commit at or after the given date.
+	 * 
+	 * @param date commit date
+	 * @return commit index
+	 */
+	public int getFirstIndexFrom(final LocalDateTime date) {
+		var minutes = FIRST_COMMIT_DATE.until(date, ChronoUnit.SECONDS) / 60.0;
+		return (int) Math.max(0, Math.min(size, Math.ceil(minutes)));
+	}
+
+	/**
+	 * Return the index after the last commit at or before the given date.
+	 * 
+	 * @param date commit date
+	 * @return commit index, exclusive
+	 */
+	public int getLastIndexUntil(final LocalDateTime date) {
+		var minutes = FIRST_COMMIT_DATE.until(date, ChronoUnit.SECONDS) / 60.0;
+		return (int) Math.max(0, Math.min(size, Math.floor(minutes) + 1));
+	}
+
+	/**
+	 * Return {@code true} if the commit is a merged pull request.
+	 * 
+	 * @param index commit index
+	 * @return {@code true} if the commit is a merged pull request
+	 */
+	public boolean isPullRequest(final int index) {
+		return random(index).nextInt(20) > 0;
+	}
+
+	/**
+	 * Return the commit comment.
+	 * 
+	 * @param index commit index
+	 * @return commit comment
+	 */
+	public String getComment(final int index) {
+		var random = random(index);
+
+		// About one in twenty commits are direct pushes.
+		if (random.nextInt(20) == 0)
+			return "Updated " + pick(random, COMPONENTS) + "/README.md";
+
+		var comment = new StringBuilder(128);
+		comment.append("Merged PR ").append(getPullRequestId(index)).append(": ").append(pick(random, TYPES));
+
+		if (random.nextInt(3) > 0)
+			comment.append('(').append(pick(random, COMPONENTS)).append(')');
+
+		comment.append(": ").append(pick(random, VERBS)).append(' ').append(pick(random, SUBJECTS));
+
+		if (random.nextInt(4) > 0)
+			comment.append(" (TJF-").append(1 + random.nextInt(9999)).append(')');
+
+		return comment.toString();
+	}
+
+	/**
+	 * Return the pull request id of the commit.
+	 * 
+	 * @param index commit index
+	 * @return pull request id
+	 */
+	public int getPullRequestId(final int index) {
+		return index + 1;
+	}
+
+	/**
+	 * Return the commit index of the pull request, or {@code -1} if there is no
+	 * such pull request.
+	 * 
+	 * @param pullRequestId pull request id
+	 * @return commit index
+	 */
+	public int getPullRequestIndex(final int pullRequestId) {
+		var index = pullRequestId - 1;
+		return index >= 0 && index < size && isPullRequest(index) ? index : -1;
+	}
+
+	/**
+	 * Return the commit indexes of the pull requests, from the newest to the
+	 * oldest.
+	 * 
+	 * @return commit indexes
+	 */
+	public synchronized int[] getPullRequestIndexes() {
+		if (pullRequestIndexes == null) {
+			var indexes = new int[size];
+			var count = 0;
+
+			for (int i = size - 1; i >= 0; i--) {
+				if (isPullRequest(i))
+					indexes[count++] = i;
+			}
+
+			pullRequestIndexes = Arrays.copyOf(indexes, count);
+		}
+
+		return pullRequestIndexes;
+	}
+
+	/**
+	 * Return the pull request description, about one in twenty with a breaking
+	 * change.
+	 * 
+	 * @param index commit index
+	 * @return pull request description
+	 */
+	public String getDescription(final int index) {
+		var random = random(~index);
+		var description = new StringBuilder("This pull request will ").append(pick(random, VERBS)).append(' ')
+				.append(pick(random, SUBJECTS)).append('.');
+
+		if (random.nextInt(20) == 0)
+			description.append("\n\nBREAKING CHANGE: ").append(pick(random, SUBJECTS))
+					.append(" no longer accepts the old format.");
+
+		return description.toString();
+	}
+
+	/**
+	 * Return the pull request label, or {@code null} if the pull request has no
+	 * label - about half of them.
+	 * 
+	 * @param index commit index
+	 * @return pull request label
+	 */
+	public String getLabel(final int index) {
+		var random = random(Integer.MAX_VALUE + 1L + index);
+		return random.nextBoolean() ? pick(random, TYPES) : null;
+	}
+
+	private SplittableRandom random(final long index) {
+		return new SplittableRandom(seed * 31 + index);
+	}
+
+	private static String pick(final SplittableRandom random, final String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+}
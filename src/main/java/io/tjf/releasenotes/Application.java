@@ -1,5 +1,7 @@
 package io.tjf.releasenotes;
 
+import java.util.Arrays;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -8,6 +10,9 @@ import io.tjf.releasenotes.properties.ReleaseNotesProperties;
 
 /**
  * Azure DevOps release notes generator.
+ * <p>
+ * With the {@value FastStartApplication#FAST_START_ARGUMENT} argument, the
+ * generator starts through {@link FastStartApplication} instead.
  * 
  * @author Rubens dos Santos Filho
  */
@@ -16,7 +21,10 @@ import io.tjf.releasenotes.properties.ReleaseNotesProperties;
 public class Application {
 
 	public static void main(String[] args) {
-		SpringApplication.run(Application.class, args);
+		if (Arrays.asList(args).contains(FastStartApplication.FAST_START_ARGUMENT))
+			FastStartApplication.main(args);
+		else
+			SpringApplication.run(Application.class, args);
 	}
 
 }
@@ -4,28 +4,77 @@ import java.io.IOException;
 
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.tjf.releasenotes.generator.BatchGenerator;
 import io.tjf.releasenotes.generator.GeneratorService;
+import io.tjf.releasenotes.metrics.MetricsReport;
+import io.tjf.releasenotes.properties.PropertiesValidator;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * {@link ApplicationRunner} that triggers the generation of the release notes
- * by command line.
+ * by command line. Not used in server mode.
  *
  * @author Rubens dos Santos Filho
  */
+@Slf4j
 @Component
+@ConditionalOnProperty(prefix = "releasenotes.server", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class CommandProcessor implements ApplicationRunner {
 
 	private final GeneratorService generator;
+	private final BatchGenerator batchGenerator;
+	private final ReleaseNotesProperties properties;
+	private final PropertiesValidator validator;
+	private final MetricsReport report;
+	private final Timer runTimer;
 
-	public CommandProcessor(final GeneratorService generator) {
+	public CommandProcessor(final GeneratorService generator, final BatchGenerator batchGenerator,
+			final ReleaseNotesProperties properties, final PropertiesValidator validator, final MetricsReport report,
+			final MeterRegistry registry) {
 		this.generator = generator;
+		this.batchGenerator = batchGenerator;
+		this.properties = properties;
+		this.validator = validator;
+		this.report = report;
+		this.runTimer = Timer.builder("releasenotes.run").description("Release notes generation").register(registry);
 	}
 
 	@Override
 	public void run(final ApplicationArguments args) throws IOException {
-		this.generator.generate();
+		var batch = !properties.getRepositories().isEmpty();
+
+		// The repositories are validated one by one, so an invalid one doesn't stop
+		// the other ones.
+		if (!batch)
+			validator.validateGeneration(properties);
+
+		var sample = Timer.start();
+
+		try {
+			if (batch)
+				this.batchGenerator.generate();
+			else
+				this.generator.generate();
+		} finally {
+			sample.stop(runTimer);
+			writeReport();
+		}
+	}
+
+	private void writeReport() {
+		// The report is also written when the generation fails, but a report
+		// failure never fails the generation.
+		try {
+			report.write();
+		} catch (IOException e) {
+			log.warn("Unable to write the performance report: {}", e.getMessage());
+		}
 	}
 
 }
@@ -0,0 +1,46 @@
+package io.tjf.releasenotes;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Fast-start entry point of the release notes generator, for short command line
+ * runs where the context startup dominates the run time.
+ * <p>
+ * Instead of evaluating every auto-configuration of the classpath, only the
+ * ones the generator uses are imported, the beans are initialized lazily and
+ * the banner and startup information are not printed. The generated release
+ * notes are the same as the ones of {@link Application}.
+ * <p>
+ * This class is intentionally not a {@code @Configuration}, so the
+ * {@link Application} component scan doesn't pick it up.
+ *
+ * @author Rubens dos Santos Filho
+ */
+@ImportAutoConfiguration({ PropertyPlaceholderAutoConfiguration.class, JacksonAutoConfiguration.class,
+		HttpMessageConvertersAutoConfiguration.class, RestTemplateAutoConfiguration.class })
+@ComponentScan(excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = Application.class))
+@EnableConfigurationProperties(ReleaseNotesProperties.class)
+public class FastStartApplication {
+
+	/**
+	 * Command line argument that starts the generator in fast-start mode.
+	 */
+	public static final String FAST_START_ARGUMENT = "--fast-start";
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(FastStartApplication.class).lazyInitialization(true)
+				.bannerMode(Banner.Mode.OFF).logStartupInfo(false).run(args);
+	}
+
+}
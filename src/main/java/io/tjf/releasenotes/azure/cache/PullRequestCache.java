@@ -0,0 +1,181 @@
+package io.tjf.releasenotes.azure.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.tjf.releasenotes.azure.payload.PullRequestDetails;
+import io.tjf.releasenotes.helper.FileUtils;
+import io.tjf.releasenotes.metrics.MetricsReport;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persistent cache of completed pull requests information.
+ * <p>
+ * Completed pull requests can't change anymore, so their labels and description
+ * are stored on disk and reused by the next executions. The entries are kept in
+ * least recently used order and the oldest ones are evicted when the cache is
+ * full.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@Slf4j
+@Component
+public class PullRequestCache {
+
+	private static final String CACHE_FILE = "pull-requests.json";
+	private static final TypeReference<LinkedHashMap<String, PullRequestDetails>> ENTRIES_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper mapper;
+	private final boolean enabled;
+	private final Path file;
+	private final int maxEntries;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	private Map<String, PullRequestDetails> entries;
+	private boolean dirty;
+
+	public PullRequestCache(final ObjectMapper mapper, final ReleaseNotesProperties properties,
+			final MeterRegistry registry) {
+		this.mapper = mapper;
+		this.enabled = properties.getCache().isEnabled();
+		this.file = Paths.get(properties.getCache().getDirectory(), CACHE_FILE);
+		this.maxEntries = properties.getCache().getMaxEntries();
+
+		MetricsReport.registerCacheRequests(registry, "pull-requests", hits, misses);
+	}
+
+	/**
+	 * Return the cache key of the given pull request.
+	 * 
+	 * @param azure         Azure properties
+	 * @param pullRequestId pull request id
+	 * @return cache key
+	 */
+	public static String key(final ReleaseNotesProperties.Azure azure, final int pullRequestId) {
+		return azure.getOrganization() + "/" + azure.getProject() + "/" + azure.getRepository() + "/"
+				+ pullRequestId;
+	}
+
+	/**
+	 * Return the cached pull request information.
+	 * 
+	 * @param key cache key
+	 * @return cached pull request information, if available
+	 */
+	public synchronized Optional<PullRequestDetails> get(final String key) {
+		if (!enabled)
+			return Optional.empty();
+
+		return Optional.ofNullable(getEntries().get(key));
+	}
+
+	/**
+	 * Return the cached pull request information or load and cache it.
+	 * 
+	 * @param key    cache key
+	 * @param loader pull request information loader
+	 * @return pull request information
+	 */
+	public PullRequestDetails get(final String key, final Supplier<PullRequestDetails> loader) {
+		var cached = get(key);
+
+		if (cached.isPresent()) {
+			hits.incrementAndGet();
+			return cached.get();
+		}
+
+		misses.incrementAndGet();
+		PullRequestDetails details = loader.get();
+		put(key, details);
+		return details;
+	}
+
+	/**
+	 * Store the pull request information - only if the pull request is completed.
+	 * 
+	 * @param key     cache key
+	 * @param details pull request information
+	 */
+	public synchronized void put(final String key, final PullRequestDetails details) {
+		if (!enabled || details == null || !details.isCompleted())
+			return;
+
+		getEntries().put(key, details);
+		dirty = true;
+	}
+
+	/**
+	 * Write the cache entries to disk, if they have changed.
+	 */
+	@PreDestroy
+	public synchronized void flush() {
+		if (!dirty)
+			return;
+
+		try {
+			Files.createDirectories(file.getParent());
+
+			// Write to a temporary file first, so a failure doesn't corrupt the cache.
+			Path tempFile = Files.createTempFile(file.getParent(), CACHE_FILE, ".tmp");
+
+			try {
+				mapper.writeValue(tempFile.toFile(), entries);
+				FileUtils.move(tempFile, file);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+
+			dirty = false;
+		} catch (IOException e) {
+			log.warn("Unable to write the pull request cache file {}: {}", file, e.getMessage());
+		}
+	}
+
+	private Map<String, PullRequestDetails> getEntries() {
+		if (entries == null) {
+			entries = new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<String, PullRequestDetails> eldest) {
+					return size() > maxEntries;
+				}
+			};
+
+			entries.putAll(read());
+		}
+
+		return entries;
+	}
+
+	private Map<String, PullRequestDetails> read() {
+		if (!Files.exists(file))
+			return Map.of();
+
+		try {
+			return mapper.readValue(file.toFile(), ENTRIES_TYPE);
+		} catch (IOException e) {
+			log.warn("Ignoring the unreadable pull request cache file {}: {}", file, e.getMessage());
+			return Map.of();
+		}
+	}
+
+}
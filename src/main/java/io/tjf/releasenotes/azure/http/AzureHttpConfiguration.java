@@ -0,0 +1,41 @@
+package io.tjf.releasenotes.azure.http;
+
+import java.net.http.HttpClient;
+
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Configures the HTTP transport shared by all the Azure REST API requests.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@Configuration(proxyBeanMethods = false)
+public class AzureHttpConfiguration {
+
+	private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+	@Bean
+	public JdkClientHttpRequestFactory azureClientHttpRequestFactory(final ReleaseNotesProperties properties) {
+		var http = properties.getAzure().getHttp();
+
+		// The JDK HTTP client only reads its connection pool settings from system
+		// properties, before the first client is created.
+		if (System.getProperty(KEEP_ALIVE_PROPERTY) == null)
+			System.setProperty(KEEP_ALIVE_PROPERTY, String.valueOf(http.getKeepAlive().toSeconds()));
+
+		var httpClient = HttpClient.newBuilder().version(http.getVersion()).connectTimeout(http.getConnectTimeout())
+				.followRedirects(HttpClient.Redirect.NORMAL).build();
+
+		return new JdkClientHttpRequestFactory(httpClient, http.getReadTimeout(), http.isCompression());
+	}
+
+	@Bean
+	public RestTemplateCustomizer azureRestTemplateCustomizer(final JdkClientHttpRequestFactory requestFactory) {
+		return restTemplate -> restTemplate.setRequestFactory(requestFactory);
+	}
+
+}
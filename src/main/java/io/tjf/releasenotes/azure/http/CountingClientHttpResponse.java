@@ -0,0 +1,20 @@
+package io.tjf.releasenotes.azure.http;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * {@link ClientHttpResponse} that counts the body bytes received, before they
+ * are decompressed.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public interface CountingClientHttpResponse extends ClientHttpResponse {
+
+	/**
+	 * Return the number of body bytes received so far, as sent by the server.
+	 * 
+	 * @return number of bytes received
+	 */
+	long getReceivedBytes();
+
+}
@@ -0,0 +1,98 @@
+package io.tjf.releasenotes.azure.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * {@link org.springframework.http.client.ClientHttpRequest} executed by the JDK
+ * {@link HttpClient}.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+class JdkClientHttpRequest extends AbstractClientHttpRequest {
+
+	private static final String GZIP = "gzip";
+
+	// Headers managed by the HTTP client itself.
+	private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+	static {
+		RESTRICTED_HEADERS.addAll(Set.of(HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH, HttpHeaders.EXPECT,
+				HttpHeaders.HOST, HttpHeaders.UPGRADE));
+	}
+
+	private final HttpClient httpClient;
+	private final URI uri;
+	private final HttpMethod method;
+	private final Duration readTimeout;
+	private final boolean compression;
+	private final ScheduledExecutorService timeoutScheduler;
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream(0);
+
+	JdkClientHttpRequest(final HttpClient httpClient, final URI uri, final HttpMethod method,
+			final Duration readTimeout, final boolean compression, final ScheduledExecutorService timeoutScheduler) {
+		this.httpClient = httpClient;
+		this.uri = uri;
+		this.method = method;
+		this.readTimeout = readTimeout;
+		this.compression = compression;
+		this.timeoutScheduler = timeoutScheduler;
+	}
+
+	@Override
+	public String getMethodValue() {
+		return method.name();
+	}
+
+	@Override
+	public URI getURI() {
+		return uri;
+	}
+
+	@Override
+	protected OutputStream getBodyInternal(final HttpHeaders headers) {
+		return body;
+	}
+
+	@Override
+	protected ClientHttpResponse executeInternal(final HttpHeaders headers) throws IOException {
+		var request = HttpRequest.newBuilder(uri).timeout(readTimeout)
+				.method(method.name(), body.size() == 0 ? HttpRequest.BodyPublishers.noBody()
+						: HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+
+		headers.forEach((name, values) -> {
+			if (!RESTRICTED_HEADERS.contains(name))
+				values.forEach(value -> request.header(name, value));
+		});
+
+		if (compression && !headers.containsKey(HttpHeaders.ACCEPT_ENCODING))
+			request.header(HttpHeaders.ACCEPT_ENCODING, GZIP);
+
+		try {
+			// The request timeout only covers the response headers, the body must
+			// be read in the rest of the time.
+			var deadline = System.nanoTime() + readTimeout.toNanos();
+			var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+			return new JdkClientHttpResponse(response, timeoutScheduler, deadline - System.nanoTime());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package io.tjf.releasenotes.azure.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * {@link ClientHttpRequestFactory} backed by the JDK {@link HttpClient}.
+ * <p>
+ * A single client is shared by all the requests, so the connections are kept
+ * alive and reused, and HTTP/2 is negotiated when the server supports it.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class JdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+	private final HttpClient httpClient;
+	private final Duration readTimeout;
+	private final boolean compression;
+	private final ScheduledExecutorService timeoutScheduler;
+
+	/**
+	 * @param httpClient  shared HTTP client
+	 * @param readTimeout maximum time to receive the whole response
+	 * @param compression {@code true} to ask for gzip compressed responses
+	 */
+	public JdkClientHttpRequestFactory(final HttpClient httpClient, final Duration readTimeout,
+			final boolean compression) {
+		this.httpClient = httpClient;
+		this.readTimeout = readTimeout;
+		this.compression = compression;
+
+		// The HTTP client only times out the response headers, the bodies are
+		// closed by this scheduler when they are still being read at the deadline.
+		// The timeouts of the closed responses are removed right away, otherwise
+		// they would keep the responses reachable until their deadline.
+		var threadFactory = new CustomizableThreadFactory("http-timeout-");
+		threadFactory.setDaemon(true);
+		var scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+		scheduler.setRemoveOnCancelPolicy(true);
+		this.timeoutScheduler = scheduler;
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) {
+		return new JdkClientHttpRequest(httpClient, uri, httpMethod, readTimeout, compression, timeoutScheduler);
+	}
+
+}
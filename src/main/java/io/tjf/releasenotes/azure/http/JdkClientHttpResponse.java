@@ -0,0 +1,162 @@
+package io.tjf.releasenotes.azure.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpResponse;
+
+/**
+ * {@link org.springframework.http.client.ClientHttpResponse} received by the
+ * JDK {@link java.net.http.HttpClient}. Gzip compressed bodies are
+ * transparently decompressed.
+ * <p>
+ * The body is closed if it's still being read when the read timeout expires,
+ * so a stalled response fails with a {@link SocketTimeoutException} instead of
+ * blocking the reading thread forever.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+class JdkClientHttpResponse extends AbstractClientHttpResponse implements CountingClientHttpResponse {
+
+	private static final String GZIP = "gzip";
+
+	private final HttpResponse<InputStream> response;
+	private final HttpHeaders headers = new HttpHeaders();
+	private final boolean compressed;
+	private final ScheduledFuture<?> timeout;
+	private volatile boolean timedOut;
+	private InputStream body;
+	private long receivedBytes;
+
+	JdkClientHttpResponse(final HttpResponse<InputStream> response, final ScheduledExecutorService timeoutScheduler,
+			final long timeoutNanos) {
+		this.response = response;
+		this.timeout = timeoutScheduler.schedule(this::expire, Math.max(timeoutNanos, 0), TimeUnit.NANOSECONDS);
+		response.headers().map().forEach(headers::addAll);
+		this.compressed = GZIP.equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+
+		// The body is exposed decompressed.
+		if (compressed) {
+			headers.remove(HttpHeaders.CONTENT_ENCODING);
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+		}
+	}
+
+	@Override
+	public int getRawStatusCode() {
+		return response.statusCode();
+	}
+
+	@Override
+	public String getStatusText() {
+		var status = HttpStatus.resolve(response.statusCode());
+		return status == null ? "" : status.getReasonPhrase();
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	@Override
+	public InputStream getBody() throws IOException {
+		if (body == null) {
+			InputStream timedBody = new TimedInputStream(response.body());
+			body = compressed ? new GZIPInputStream(timedBody) : timedBody;
+		}
+
+		return body;
+	}
+
+	@Override
+	public long getReceivedBytes() {
+		return receivedBytes;
+	}
+
+	@Override
+	public void close() {
+		timeout.cancel(false);
+
+		try {
+			(body == null ? response.body() : body).close();
+		} catch (IOException e) {
+			// Nothing to do, the connection is discarded.
+		}
+	}
+
+	private void expire() {
+		timedOut = true;
+
+		try {
+			// Closing the body wakes up the thread blocked reading it.
+			response.body().close();
+		} catch (IOException e) {
+			// Nothing to do, the connection is discarded.
+		}
+	}
+
+	/**
+	 * Reports the reads interrupted by the read timeout as timeouts, instead of
+	 * the end of the body, and counts the bytes received.
+	 */
+	private class TimedInputStream extends FilterInputStream {
+
+		TimedInputStream(final InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result;
+
+			try {
+				result = in.read();
+			} catch (IOException e) {
+				throw timedOut ? newTimeoutException() : e;
+			}
+
+			if (result >= 0)
+				receivedBytes++;
+
+			return checkTimeout(result);
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			int result;
+
+			try {
+				result = in.read(b, off, len);
+			} catch (IOException e) {
+				throw timedOut ? newTimeoutException() : e;
+			}
+
+			if (result > 0)
+				receivedBytes += result;
+
+			return checkTimeout(result);
+		}
+
+		private int checkTimeout(final int result) throws SocketTimeoutException {
+			if (timedOut)
+				throw newTimeoutException();
+
+			return result;
+		}
+
+		private SocketTimeoutException newTimeoutException() {
+			return new SocketTimeoutException("Read timed out");
+		}
+
+	}
+
+}
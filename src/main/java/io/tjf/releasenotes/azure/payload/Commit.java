@@ -1,14 +1,15 @@
 package io.tjf.releasenotes.azure.payload;
 
-import lombok.AllArgsConstructor;
+import io.tjf.releasenotes.helper.CommitComment;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Represents a git commit structure.
  * 
  * @author Rubens dos Santos Filho
  */
-@AllArgsConstructor(staticName = "of")
+@RequiredArgsConstructor(staticName = "of")
 @Getter
 public class Commit {
 
@@ -16,5 +17,23 @@ public class Commit {
 	private final String comment;
 	private final String url;
 	private final String remoteUrl;
+	private final GitUserDate committer;
+
+	// The comment is read by the pull requests indexing and by the conventional
+	// commit conversion, so it's parsed once. The parsed comment is immutable, so
+	// a thread parsing it again is harmless.
+	private CommitComment parsedComment;
+
+	/**
+	 * Return the comment fields, parsed on the first call.
+	 * 
+	 * @return parsed comment
+	 */
+	public CommitComment getParsedComment() {
+		if (parsedComment == null)
+			parsedComment = CommitComment.parse(comment);
+
+		return parsedComment;
+	}
 
 }
@@ -0,0 +1,21 @@
+package io.tjf.releasenotes.azure.payload;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents a git commit author or committer structure.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@AllArgsConstructor(staticName = "of")
+@Getter
+public class GitUserDate {
+
+	private final String name;
+	private final String email;
+	private final LocalDateTime date;
+
+}
@@ -0,0 +1,24 @@
+package io.tjf.releasenotes.azure.payload;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Decodes a payload straight from a JSON token stream.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@FunctionalInterface
+public interface PayloadDecoder<T> {
+
+	/**
+	 * Decode the JSON value starting at the current parser token.
+	 * 
+	 * @param parser JSON parser positioned at the value first token
+	 * @return decoded payload
+	 * @throws IOException if the JSON can't be read
+	 */
+	T decode(JsonParser parser) throws IOException;
+
+}
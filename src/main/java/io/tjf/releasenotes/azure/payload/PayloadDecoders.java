@@ -0,0 +1,209 @@
+package io.tjf.releasenotes.azure.payload;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming decoders of the Azure REST API payloads.
+ * <p>
+ * The decoders read the JSON tokens straight from the response stream and only
+ * build the fields used by the release notes, skipping everything else.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class PayloadDecoders {
+
+	private PayloadDecoders() {
+	}
+
+	/**
+	 * Decode a {@code {"count": n, "value": [...]}} result object.
+	 * 
+	 * @param parser  JSON parser
+	 * @param decoder result items decoder
+	 * @param factory result object factory
+	 * @return result object
+	 * @throws IOException if the JSON can't be read
+	 */
+	public static <T, R extends Result<T>> R decodeResult(final JsonParser parser, final PayloadDecoder<T> decoder,
+			final BiFunction<Integer, List<T>, R> factory) throws IOException {
+		var count = 0;
+		List<T> value = new ArrayList<>();
+
+		expect(parser, JsonToken.START_OBJECT);
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			var field = parser.getCurrentName();
+			var token = parser.nextToken();
+
+			if ("count".equals(field)) {
+				count = parser.getValueAsInt();
+			} else if ("value".equals(field) && token == JsonToken.START_ARRAY) {
+				while (parser.nextToken() != JsonToken.END_ARRAY)
+					value.add(decoder.decode(parser));
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		return factory.apply(count, value);
+	}
+
+	/**
+	 * Decode the commit id, comment and committer date of a commit.
+	 * 
+	 * @param parser JSON parser
+	 * @return commit object
+	 * @throws IOException if the JSON can't be read
+	 */
+	public static Commit decodeCommit(final JsonParser parser) throws IOException {
+		String commitId = null;
+		String comment = null;
+		GitUserDate committer = null;
+
+		expect(parser, JsonToken.START_OBJECT);
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			var field = parser.getCurrentName();
+			parser.nextToken();
+
+			switch (field) {
+			case "commitId":
+				commitId = parser.getValueAsString();
+				break;
+			case "comment":
+				comment = parser.getValueAsString();
+				break;
+			case "committer":
+				committer = decodeGitUserDate(parser);
+				break;
+			default:
+				parser.skipChildren();
+			}
+		}
+
+		return Commit.of(commitId, comment, null, null, committer);
+	}
+
+	/**
+	 * Decode the id, status, description and labels of a pull request.
+	 * 
+	 * @param parser JSON parser
+	 * @return pull request object
+	 * @throws IOException if the JSON can't be read
+	 */
+	public static PullRequest decodePullRequest(final JsonParser parser) throws IOException {
+		var pullRequestId = -1;
+		String status = null;
+		String description = null;
+		List<Label> labels = null;
+
+		expect(parser, JsonToken.START_OBJECT);
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			var field = parser.getCurrentName();
+			var token = parser.nextToken();
+
+			switch (field) {
+			case "pullRequestId":
+				pullRequestId = parser.getValueAsInt(-1);
+				break;
+			case "status":
+				status = parser.getValueAsString();
+				break;
+			case "description":
+				description = parser.getValueAsString();
+				break;
+			case "labels":
+				labels = token == JsonToken.START_ARRAY ? decodeLabels(parser) : null;
+				break;
+			default:
+				parser.skipChildren();
+			}
+		}
+
+		return PullRequest.of(pullRequestId, status, null, description, labels);
+	}
+
+	/**
+	 * Decode the name and active flag of a pull request label.
+	 * 
+	 * @param parser JSON parser
+	 * @return label object
+	 * @throws IOException if the JSON can't be read
+	 */
+	public static Label decodeLabel(final JsonParser parser) throws IOException {
+		String name = null;
+		var active = false;
+
+		expect(parser, JsonToken.START_OBJECT);
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			var field = parser.getCurrentName();
+			parser.nextToken();
+
+			if ("name".equals(field))
+				name = parser.getValueAsString();
+			else if ("active".equals(field))
+				active = parser.getValueAsBoolean();
+			else
+				parser.skipChildren();
+		}
+
+		return Label.of(null, name, active, null);
+	}
+
+	private static List<Label> decodeLabels(final JsonParser parser) throws IOException {
+		List<Label> labels = new ArrayList<>();
+
+		while (parser.nextToken() != JsonToken.END_ARRAY)
+			labels.add(decodeLabel(parser));
+
+		return labels;
+	}
+
+	private static GitUserDate decodeGitUserDate(final JsonParser parser) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return null;
+		}
+
+		LocalDateTime date = null;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			var field = parser.getCurrentName();
+			parser.nextToken();
+
+			if ("date".equals(field) && parser.currentToken() == JsonToken.VALUE_STRING)
+				date = parseDate(parser.getText());
+			else
+				parser.skipChildren();
+		}
+
+		return GitUserDate.of(null, null, date);
+	}
+
+	private static LocalDateTime parseDate(final String text) {
+		try {
+			return OffsetDateTime.parse(text).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+		} catch (DateTimeParseException e) {
+			return LocalDateTime.parse(text);
+		}
+	}
+
+	private static void expect(final JsonParser parser, final JsonToken token) throws IOException {
+		if (parser.currentToken() != token)
+			throw new JsonParseException(parser, "Expected " + token + " but found " + parser.currentToken());
+	}
+
+}
@@ -1,5 +1,7 @@
 package io.tjf.releasenotes.azure.payload;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -16,5 +18,6 @@ public class PullRequest {
 	private final String status;
 	private final String title;
 	private final String description;
+	private final List<Label> labels;
 
 }
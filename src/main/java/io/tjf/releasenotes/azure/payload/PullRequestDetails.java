@@ -0,0 +1,37 @@
+package io.tjf.releasenotes.azure.payload;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the pull request information used by the release notes: the
+ * labels names and the description.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@AllArgsConstructor(staticName = "of")
+@Getter
+public class PullRequestDetails {
+
+	public static final PullRequestDetails EMPTY = of(Collections.emptyList(), "", null);
+
+	private static final String COMPLETED_STATUS = "completed";
+
+	private final List<String> labels;
+	private final String description;
+	private final String status;
+
+	/**
+	 * Return {@code true} if the pull request is completed, so its information
+	 * can't change anymore.
+	 * 
+	 * @return {@code true} if the pull request is completed
+	 */
+	public boolean isCompleted() {
+		return COMPLETED_STATUS.equalsIgnoreCase(status);
+	}
+
+}
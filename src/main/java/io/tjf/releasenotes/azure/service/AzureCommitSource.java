@@ -0,0 +1,116 @@
+package io.tjf.releasenotes.azure.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.tjf.releasenotes.azure.payload.Commit;
+import io.tjf.releasenotes.azure.payload.PayloadDecoder;
+import io.tjf.releasenotes.azure.payload.PayloadDecoders;
+import io.tjf.releasenotes.azure.payload.Result;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.source.CommitQuery;
+import io.tjf.releasenotes.source.CommitSource;
+
+/**
+ * Reads the commits from the Azure Commit REST API.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class AzureCommitSource extends AzureService implements CommitSource {
+
+	private static final String COMMIT_URI = "commits";
+	private static final String COMMIT_PERIOD_URI = "searchCriteria.fromDate={fromDate}&searchCriteria.toDate={toDate}";
+	private static final String COMMIT_TYPE_URI = "searchCriteria.itemVersion.versionType={versionType}&searchCriteria.itemVersion.version={version}";
+	private static final String COMMIT_COMPARE_URI = "searchCriteria.compareVersion.versionType={compareVersionType}&searchCriteria.compareVersion.version={compareVersion}";
+	private static final String COMMIT_PATH_URI = "searchCriteria.itemPath={itemPath}";
+	private static final String COMMIT_PAGE_URI = "searchCriteria.$top={top}&searchCriteria.$skip={skip}";
+	private static final String BRANCH_PREFIX = "refs/heads/";
+	private static final String TAG_PREFIX = "refs/tags/";
+	private static final Pattern COMMIT_ID = Pattern.compile("[0-9a-fA-F]{40}");
+	private static final PayloadDecoder<CommitResult> COMMIT_RESULT_DECODER = parser -> PayloadDecoders
+			.decodeResult(parser, PayloadDecoders::decodeCommit, CommitResult::new);
+
+	private final int pageSize;
+
+	public AzureCommitSource(final RestTemplateBuilder builder, final ReleaseNotesProperties properties,
+			final AzureRateController rateController, final MeterRegistry registry) {
+		super(builder, properties, rateController, registry);
+		this.pageSize = properties.getAzure().getPageSize();
+	}
+
+	/**
+	 * Return a lazy stream of all commits from the query branch and period.
+	 * <p>
+	 * The commits are requested page by page while the stream is consumed, so
+	 * only one page is held in memory at a time. A ref range is queried as the
+	 * history of the {@code to} ref compared to the {@code from} ref, so only the
+	 * release commits are transferred.
+	 */
+	@Override
+	public Stream<Commit> streamCommits(final CommitQuery query) {
+		var url = new StringBuilder(COMMIT_URI).append('?').append(COMMIT_PERIOD_URI).append('&')
+				.append(COMMIT_TYPE_URI);
+		List<Object> variables = new ArrayList<>(List.of(query.getFromDate() == null ? "" : query.getFromDate(),
+				query.getToDate() == null ? "" : query.getToDate()));
+
+		if (query.getToRef() == null) {
+			variables.add("branch");
+			variables.add(query.getBranch());
+		} else {
+			addVersion(variables, query.getToRef());
+		}
+
+		if (query.getFromRef() != null) {
+			url.append('&').append(COMMIT_COMPARE_URI);
+			addVersion(variables, query.getFromRef());
+		}
+
+		// The path is filtered by Azure, so the commits of the other paths are
+		// neither transferred nor enriched.
+		if (query.getItemPath() != null) {
+			url.append('&').append(COMMIT_PATH_URI);
+			variables.add(query.getItemPath());
+		}
+
+		var pageUrl = url.append('&').append(COMMIT_PAGE_URI).toString();
+
+		return PageIterator.stream(skip -> {
+			List<Object> pageVariables = new ArrayList<>(variables);
+			pageVariables.add(pageSize);
+			pageVariables.add(skip);
+			return get(COMMIT_RESULT_DECODER, pageUrl, pageVariables.toArray()).getValue();
+		}, pageSize);
+	}
+
+	/**
+	 * Add the Azure version type and version of the ref: a {@code refs/heads/}
+	 * branch, a {@code refs/tags/} tag, a commit id or else a tag name.
+	 */
+	private static void addVersion(final List<Object> variables, final String ref) {
+		if (ref.startsWith(BRANCH_PREFIX)) {
+			variables.add("branch");
+			variables.add(ref.substring(BRANCH_PREFIX.length()));
+		} else if (ref.startsWith(TAG_PREFIX)) {
+			variables.add("tag");
+			variables.add(ref.substring(TAG_PREFIX.length()));
+		} else if (COMMIT_ID.matcher(ref).matches()) {
+			variables.add("commit");
+			variables.add(ref);
+		} else {
+			variables.add("tag");
+			variables.add(ref);
+		}
+	}
+
+	public static class CommitResult extends Result<Commit> {
+		public CommitResult(final int count, final List<Commit> value) {
+			super(count, value);
+		}
+	}
+
+}
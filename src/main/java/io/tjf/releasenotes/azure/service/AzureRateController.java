@@ -0,0 +1,257 @@
+package io.tjf.releasenotes.azure.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controls the rate of the Azure REST API requests to stay under the Azure
+ * DevOps throttling quota.
+ * <p>
+ * The number of requests in flight is adjusted with an additive increase,
+ * multiplicative decrease (AIMD) strategy: it grows slowly while the requests
+ * succeed and is halved when Azure throttles them or reports that the quota is
+ * running out. Throttled and failed requests are retried with a jittered
+ * exponential backoff, honoring the {@code Retry-After} header.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@Slf4j
+@Component
+public class AzureRateController {
+
+	private static final String RATE_LIMIT_DELAY = "X-RateLimit-Delay";
+	private static final String RATE_LIMIT_LIMIT = "X-RateLimit-Limit";
+	private static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+
+	// Below this ratio of the quota the concurrency is decreased, before Azure
+	// starts to throttle the requests.
+	private static final double LOW_REMAINING_RATIO = 0.1;
+
+	private final int maxConcurrency;
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+	private final AtomicLong retries = new AtomicLong();
+	private double limit;
+	private int inFlight;
+	private long pausedUntil;
+
+	public AzureRateController(final ReleaseNotesProperties properties, final MeterRegistry registry) {
+		var retry = properties.getAzure().getRetry();
+		this.maxConcurrency = properties.getAzure().getMaxConcurrency();
+		this.maxAttempts = retry.getMaxAttempts();
+		this.initialBackoff = retry.getInitialBackoff();
+		this.maxBackoff = retry.getMaxBackoff();
+		this.limit = maxConcurrency;
+
+		FunctionCounter.builder("azure.retries", retries, AtomicLong::get)
+				.description("Throttled or failed Azure requests retried").register(registry);
+		Gauge.builder("azure.concurrency.limit", this, AzureRateController::getConcurrencyLimit)
+				.description("Current maximum number of Azure requests in flight").register(registry);
+	}
+
+	/**
+	 * Execute the request when there is room for it, retrying it while it's
+	 * throttled or fails to connect.
+	 * 
+	 * @param request request execution
+	 * @return request response
+	 */
+	public <T> ResponseEntity<T> execute(final Supplier<ResponseEntity<T>> request) {
+		for (int attempt = 1;; attempt++) {
+			Duration retryAfter;
+			RestClientException failure;
+
+			acquire();
+
+			try {
+				ResponseEntity<T> response = request.get();
+				onSuccess(response.getHeaders());
+				return response;
+			} catch (HttpStatusCodeException e) {
+				if (!isThrottled(e.getRawStatusCode()))
+					throw e;
+
+				failure = e;
+				retryAfter = getRetryAfter(e.getResponseHeaders());
+				onThrottled(retryAfter);
+			} catch (ResourceAccessException e) {
+				failure = e;
+				retryAfter = Duration.ZERO;
+			} finally {
+				release();
+			}
+
+			if (attempt >= maxAttempts)
+				throw failure;
+
+			retries.incrementAndGet();
+			var backoff = getBackoff(attempt, retryAfter);
+			log.debug("Retrying the Azure request in {} ms: {}", backoff.toMillis(), failure.getMessage());
+
+			try {
+				Thread.sleep(backoff.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw failure;
+			}
+		}
+	}
+
+	/**
+	 * Return the current maximum number of requests in flight.
+	 * 
+	 * @return current concurrency limit
+	 */
+	public int getConcurrencyLimit() {
+		lock.lock();
+
+		try {
+			return (int) limit;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void acquire() {
+		lock.lock();
+
+		try {
+			while (true) {
+				var pause = pausedUntil - System.currentTimeMillis();
+
+				if (pause > 0)
+					available.await(pause, TimeUnit.MILLISECONDS);
+				else if (inFlight >= (int) limit)
+					available.await();
+				else
+					break;
+			}
+
+			inFlight++;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ResourceAccessException("Interrupted while waiting to call the Azure REST API");
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void release() {
+		lock.lock();
+
+		try {
+			inFlight--;
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void onSuccess(final HttpHeaders headers) {
+		lock.lock();
+
+		try {
+			var delay = getSeconds(headers, RATE_LIMIT_DELAY);
+
+			// Azure is already delaying the requests, so slow down.
+			if (delay > 0 || isQuotaRunningOut(headers))
+				decrease();
+			else
+				limit = Math.min(maxConcurrency, limit + 1 / limit);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void onThrottled(final Duration retryAfter) {
+		lock.lock();
+
+		try {
+			decrease();
+
+			// Hold all the requests, not only the throttled one.
+			pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + retryAfter.toMillis());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void decrease() {
+		limit = Math.max(1, limit / 2);
+	}
+
+	private boolean isQuotaRunningOut(final HttpHeaders headers) {
+		var quota = getSeconds(headers, RATE_LIMIT_LIMIT);
+		var remaining = headers.getFirst(RATE_LIMIT_REMAINING);
+		return quota > 0 && remaining != null && parse(remaining) < quota * LOW_REMAINING_RATIO;
+	}
+
+	private Duration getBackoff(final int attempt, final Duration retryAfter) {
+		var exponential = initialBackoff.toMillis() * (1L << Math.min(attempt - 1, 20));
+		var ceiling = Math.min(maxBackoff.toMillis(), exponential);
+
+		// Full jitter, so the throttled requests don't retry all at the same time.
+		var backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+		return Duration.ofMillis(Math.max(backoff, retryAfter.toMillis()));
+	}
+
+	private static boolean isThrottled(final int statusCode) {
+		return statusCode == HttpStatus.TOO_MANY_REQUESTS.value()
+				|| statusCode == HttpStatus.SERVICE_UNAVAILABLE.value();
+	}
+
+	private static Duration getRetryAfter(final HttpHeaders headers) {
+		if (headers == null)
+			return Duration.ZERO;
+
+		var seconds = Math.max(getSeconds(headers, HttpHeaders.RETRY_AFTER), getSeconds(headers, RATE_LIMIT_DELAY));
+
+		if (seconds > 0)
+			return Duration.ofMillis((long) (seconds * 1000));
+
+		try {
+			// The Retry-After header may also be an HTTP date.
+			var date = headers.getFirstDate(HttpHeaders.RETRY_AFTER);
+			return date < 0 ? Duration.ZERO : Duration.ofMillis(Math.max(0, date - System.currentTimeMillis()));
+		} catch (IllegalArgumentException e) {
+			return Duration.ZERO;
+		}
+	}
+
+	private static double getSeconds(final HttpHeaders headers, final String name) {
+		var value = headers.getFirst(name);
+		return value == null ? 0 : parse(value);
+	}
+
+	private static double parse(final String value) {
+		try {
+			return Double.parseDouble(value.trim());
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+}
@@ -1,11 +1,24 @@
 package io.tjf.releasenotes.azure.service;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.tjf.releasenotes.azure.http.CountingClientHttpResponse;
+import io.tjf.releasenotes.azure.payload.PayloadDecoder;
 import io.tjf.releasenotes.properties.ReleaseNotesProperties;
 
 /**
@@ -15,13 +28,24 @@ import io.tjf.releasenotes.properties.ReleaseNotesProperties;
  */
 public abstract class AzureService {
 
-	protected static final String AZURE_URL = "https://dev.azure.com/{organization}/{project}/_apis/git/repositories/{repositoryId}";
+	private static final String REPOSITORY_URI = "/{organization}/{project}/_apis/git/repositories/{repositoryId}";
 	private static final String API_VERSION = "api-version=6.0-preview";
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
 	private final RestTemplate restTemplate;
+	private final AzureRateController rateController;
+	private final MeterRegistry registry;
+	private final String repositoryUrl;
 	private final Object[] uriConfigVariables;
 
-	public AzureService(final RestTemplateBuilder builder, final ReleaseNotesProperties properties) {
+	public AzureService(final RestTemplateBuilder builder, final ReleaseNotesProperties properties,
+			final AzureRateController rateController, final MeterRegistry registry) {
+		this.rateController = rateController;
+		this.registry = registry;
+
+		var url = properties.getAzure().getUrl();
+		repositoryUrl = (url.endsWith("/") ? url.substring(0, url.length() - 1) : url) + REPOSITORY_URI;
+
 		var organization = properties.getAzure().getOrganization();
 		var project = properties.getAzure().getProject();
 		var repositoryId = properties.getAzure().getRepository();
@@ -32,10 +56,85 @@ public abstract class AzureService {
 		restTemplate = builder.basicAuthentication(username, password).build();
 	}
 
-	public <T> T get(final Class<T> returnClass, final String apiUri, Object... uriVariables) {
-		var url = AZURE_URL + "/" + apiUri + (apiUri.indexOf('?') >= 0 ? "&" : "?") + API_VERSION;
-		uriVariables = Stream.concat(Arrays.stream(uriConfigVariables), Arrays.stream(uriVariables)).toArray();
-		return restTemplate.getForObject(url, returnClass, uriVariables);
+	/**
+	 * Request the given API and decode the response straight from the response
+	 * stream, without buffering or binding the whole body.
+	 * 
+	 * @param decoder      response payload decoder
+	 * @param apiUri       API URI template
+	 * @param uriVariables URI template variables
+	 * @return decoded payload
+	 */
+	public <T> T get(final PayloadDecoder<T> decoder, final String apiUri, final Object... uriVariables) {
+		var url = getUrl(apiUri);
+		var variables = getUriVariables(uriVariables);
+		var endpoint = getEndpoint(apiUri);
+		var sample = Timer.start(registry);
+		var outcome = "error";
+
+		try {
+			var body = rateController.execute(() -> restTemplate.execute(url, HttpMethod.GET,
+					request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)), response -> {
+						var content = new CountingInputStream(response.getBody());
+
+						try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+							parser.nextToken();
+							var payload = decoder.decode(parser);
+							recordBytes(endpoint, getReceivedBytes(response, content));
+							return new ResponseEntity<>(payload, response.getHeaders(), response.getStatusCode());
+						}
+					}, variables)).getBody();
+
+			outcome = "success";
+			return body;
+		} finally {
+			sample.stop(getTimer(endpoint, outcome));
+		}
+	}
+
+	private Timer getTimer(final String endpoint, final String outcome) {
+		return Timer.builder("azure.requests").description("Azure REST API requests, including the retries")
+				.tag("endpoint", endpoint).tag("outcome", outcome).register(registry);
+	}
+
+	/**
+	 * Return the response size as received, so the compressed responses are
+	 * measured before they are decompressed.
+	 */
+	private static long getReceivedBytes(final ClientHttpResponse response, final CountingInputStream content) {
+		return response instanceof CountingClientHttpResponse
+				? ((CountingClientHttpResponse) response).getReceivedBytes()
+				: content.getCount();
+	}
+
+	private void recordBytes(final String endpoint, final long bytes) {
+		if (bytes >= 0)
+			DistributionSummary.builder("azure.response.bytes").description("Azure REST API response sizes, as received")
+					.baseUnit("bytes").tag("endpoint", endpoint).register(registry).record(bytes);
+	}
+
+	/**
+	 * Return the endpoint name of the API URI template, used to tag the metrics.
+	 */
+	private static String getEndpoint(final String apiUri) {
+		if (apiUri.startsWith("commits"))
+			return "commits";
+
+		if (apiUri.startsWith("pullRequests/"))
+			return apiUri.contains("/labels") ? "labels" : "pullRequest";
+
+		if (apiUri.startsWith("pullRequests"))
+			return "pullRequests";
+
+		return "other";
+	}
+
+	private String getUrl(final String apiUri) {
+		return repositoryUrl + "/" + apiUri + (apiUri.indexOf('?') >= 0 ? "&" : "?") + API_VERSION;
+	}
+
+	private Object[] getUriVariables(final Object... uriVariables) {
+		return Stream.concat(Arrays.stream(uriConfigVariables), Arrays.stream(uriVariables)).toArray();
 	}
 
 }
@@ -1,139 +1,283 @@
 package io.tjf.releasenotes.azure.service;
 
-import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.tjf.releasenotes.azure.cache.PullRequestCache;
 import io.tjf.releasenotes.azure.payload.Commit;
-import io.tjf.releasenotes.azure.payload.Result;
+import io.tjf.releasenotes.azure.payload.PullRequestDetails;
 import io.tjf.releasenotes.helper.CommitUtils;
+import io.tjf.releasenotes.helper.ConcurrencyUtils;
 import io.tjf.releasenotes.helper.ConventionalCommit;
-import io.tjf.releasenotes.helper.IssueType;
+import io.tjf.releasenotes.helper.ConventionalCommitIndex;
 import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.PullRequestMode;
+import io.tjf.releasenotes.source.CommitQuery;
+import io.tjf.releasenotes.source.CommitSource;
+import io.tjf.releasenotes.source.LocalGitCommitSource;
 
 /**
- * Azure Commit REST API interactive class.
+ * Reads the commits from the configured {@link CommitSource} - the Azure Commit
+ * REST API or a local git repository - and converts them into conventional
+ * commits.
  * 
  * @author Rubens dos Santos Filho
  */
 @Service
-public class CommitService extends AzureService {
-
-	private static final String COMMIT_URI = "commits";
-	private static final String COMMIT_PERIOD_URI = "searchCriteria.fromDate={fromDate}&searchCriteria.toDate={toDate}";
-	private static final String COMMIT_TYPE_URI = "searchCriteria.itemVersion.versionType=branch&searchCriteria.itemVersion.version={branch}";
+public class CommitService {
 
+	private final CommitSource commitSource;
 	private final PullRequestService pullRequestService;
+	private final PullRequestCache pullRequestCache;
+	private final ReleaseNotesProperties properties;
+	private final ReleaseNotesProperties.Azure azure;
+	private final int maxPendingCommits;
+	private final ExecutorService executor;
+	private final Timer enrichmentTimer;
+	private final Counter commitsCounter;
 
 	public CommitService(final RestTemplateBuilder builder, final ReleaseNotesProperties properties,
-			final PullRequestService pullRequestService) {
-		super(builder, properties);
+			final AzureRateController rateController, final PullRequestService pullRequestService,
+			final PullRequestCache pullRequestCache, final MeterRegistry registry) {
+		this.commitSource = newCommitSource(builder, properties, rateController, registry);
 		this.pullRequestService = pullRequestService;
+		this.pullRequestCache = pullRequestCache;
+		this.properties = properties;
+		this.azure = properties.getAzure();
+
+		var maxConcurrency = azure.getMaxConcurrency();
+		this.executor = ConcurrencyUtils.newExecutor("pull-request-", maxConcurrency);
+
+		// Keep some commits queued so a slow pull request at the head of the
+		// queue doesn't leave the other threads idle.
+		this.maxPendingCommits = maxConcurrency * 2;
+
+		this.enrichmentTimer = Timer.builder("releasenotes.enrichment")
+				.description("Conversion of commits into conventional commits, with their pull requests information")
+				.register(registry);
+		this.commitsCounter = Counter.builder("releasenotes.commits").description("Commits read from the commit source")
+				.register(registry);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+		commitSource.close();
 	}
 
 	/**
-	 * Return all commits from the given branch and period.
+	 * Return all commits matching the given query.
 	 * 
-	 * @param fromDate commit start date
-	 * @param toDate   commit end date
-	 * @param branch   branch name
+	 * @param query commits query
 	 * 
 	 * @return list of commits
 	 */
-	public List<Commit> getCommitsFromPeriod(LocalDateTime fromDate, LocalDateTime toDate, String branch) {
-		var url = COMMIT_URI + "?" + COMMIT_PERIOD_URI + "&" + COMMIT_TYPE_URI;
-		return get(CommitResult.class, url, fromDate, toDate, branch).getValue();
+	public List<Commit> getCommits(final CommitQuery query) {
+		try (Stream<Commit> commits = streamCommits(query)) {
+			return commits.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Return a lazy stream of all commits matching the given query.
+	 * <p>
+	 * The commits are read while the stream is consumed, e.g.: the Azure commits
+	 * are requested page by page, so only one page is held in memory at a time.
+	 * 
+	 * @param query commits query
+	 * 
+	 * @return stream of commits
+	 */
+	public Stream<Commit> streamCommits(final CommitQuery query) {
+		return commitSource.streamCommits(query);
+	}
+
+	/**
+	 * Return all conventional commits matching the given query.
+	 * 
+	 * @param query commits query
+	 * 
+	 * @return list of {@link ConventionalCommit}
+	 */
+	public List<ConventionalCommit> getConventionalCommits(final CommitQuery query) {
+		// The bulk mode needs all the pull request ids up front to list them at
+		// once.
+		if (azure.getPullRequestMode() == PullRequestMode.BULK) {
+			List<Commit> commits = getCommits(query);
+			indexPullRequests(commits, query.getBranch());
+			return getConventionalCommitsFromCommits(commits.iterator());
+		}
+
+		try (Stream<Commit> commits = streamCommits(query)) {
+			return getConventionalCommitsFromCommits(commits.iterator());
+		}
+	}
+
+	/**
+	 * Return all conventional commits from the given commits.
+	 * 
+	 * @param commits list of commits
+	 * 
+	 * @return list of {@link ConventionalCommit}
+	 */
+	public List<ConventionalCommit> getConventionalCommitsFromCommits(final List<Commit> commits) {
+		return getConventionalCommitsFromCommits(commits.iterator());
 	}
 
 	/**
-	 * Return all conventional commits from the given period and branch.
+	 * Merge newer conventional commits into older ones, deduplicating them as if
+	 * they were all extracted at once.
 	 * 
-	 * @param fromDate commit start date
-	 * @param toDate   commit end date
-	 * @param branch   branch name
+	 * @param newerCommits newer conventional commits
+	 * @param olderCommits older conventional commits
 	 * 
 	 * @return list of {@link ConventionalCommit}
 	 */
-	public List<ConventionalCommit> getConventionalCommitsFromPeriod(final LocalDateTime fromDate,
-			final LocalDateTime toDate, final String branch) {
-		List<Commit> commits = getCommitsFromPeriod(fromDate, toDate, branch);
-		List<Commit> prCommits = CommitUtils.filterPullRequestCommits(commits);
+	public List<ConventionalCommit> mergeConventionalCommits(final List<ConventionalCommit> newerCommits,
+			final List<ConventionalCommit> olderCommits) {
+		var conventionalCommits = newConventionalCommitIndex();
+		newerCommits.forEach(conventionalCommits::add);
+		olderCommits.forEach(conventionalCommits::add);
+		return conventionalCommits.getCommits();
+	}
 
-		// If the given period had PR, use them to get the conventional commits.
-		// This is necessary because the PR REST API doesn't have a way to
-		// filter commits by period.
-		if (!prCommits.isEmpty())
-			return getConventionalCommitsFromCommits(prCommits);
+	/**
+	 * List the completed pull requests of the branch once, so the commits
+	 * enrichment finds them without requesting each one separately. Does nothing
+	 * unless the bulk pull request mode is enabled.
+	 * 
+	 * @param commits list of commits
+	 * @param branch  branch name
+	 */
+	public void indexPullRequests(final List<Commit> commits, final String branch) {
+		if (azure.getPullRequestMode() != PullRequestMode.BULK)
+			return;
+
+		Set<Integer> pullRequestIds = commits.stream().filter(CommitUtils::isPullRequestCommit)
+				.map(commit -> commit.getParsedComment().getPullRequestId())
+				.filter(id -> pullRequestCache.get(PullRequestCache.key(azure, id)).isEmpty())
+				.collect(Collectors.toSet());
 
-		// Otherwise use all the found commits.
-		return getConventionalCommitsFromCommits(commits);
+		pullRequestService.indexCompletedPullRequests(branch, pullRequestIds)
+				.forEach((id, details) -> pullRequestCache.put(PullRequestCache.key(azure, id), details));
 	}
 
-	private List<ConventionalCommit> getConventionalCommitsFromCommits(final List<Commit> commits) {
-		List<ConventionalCommit> conventionalCommits = new ArrayList<>();
+	private List<ConventionalCommit> getConventionalCommitsFromCommits(final Iterator<Commit> commits) {
+		var sample = Timer.start();
 
-		for (Commit commit : commits) {
-			ConventionalCommit conventionalCommit = getConventionalCommit(commit);
+		try {
+			return enrichConventionalCommits(commits);
+		} finally {
+			sample.stop(enrichmentTimer);
+		}
+	}
 
-			if (conventionalCommit != null) {
-				var hasIssue = conventionalCommits.stream()
-						.anyMatch(c -> c.getIssue().equals(conventionalCommit.getIssue()));
+	private List<ConventionalCommit> enrichConventionalCommits(final Iterator<Commit> commits) {
+		var conventionalCommits = newConventionalCommitIndex();
+		Deque<CompletableFuture<ConventionalCommit>> pendingCommits = new ArrayDeque<>();
+		List<Commit> otherCommits = new ArrayList<>();
+
+		try {
+			while (commits.hasNext()) {
+				Commit commit = commits.next();
+				commitsCounter.increment();
+
+				// If the given period had PR, use them to get the conventional commits.
+				// This is necessary because the PR REST API doesn't have a way to
+				// filter commits by period.
+				if (CommitUtils.isPullRequestCommit(commit)) {
+					otherCommits = null;
+					enrichConventionalCommit(pendingCommits, conventionalCommits, commit);
+				} else if (otherCommits != null) {
+					otherCommits.add(commit);
+				}
+			}
 
-				if (!hasIssue)
-					conventionalCommits.add(conventionalCommit);
+			// Otherwise use all the found commits.
+			if (otherCommits != null) {
+				for (Commit commit : otherCommits)
+					enrichConventionalCommit(pendingCommits, conventionalCommits, commit);
 			}
+
+			while (!pendingCommits.isEmpty())
+				conventionalCommits.add(ConcurrencyUtils.join(pendingCommits.poll()));
+		} catch (RuntimeException e) {
+			pendingCommits.forEach(pendingCommit -> pendingCommit.cancel(true));
+			throw e;
 		}
 
-		return conventionalCommits;
+		return conventionalCommits.getCommits();
+	}
+
+	/**
+	 * Queue the commit to have its pull request information fetched in
+	 * background. The results are consumed in the commits order, so the output is
+	 * the same as a sequential execution.
+	 */
+	private void enrichConventionalCommit(final Deque<CompletableFuture<ConventionalCommit>> pendingCommits,
+			final ConventionalCommitIndex conventionalCommits, final Commit commit) {
+		pendingCommits.add(CompletableFuture.supplyAsync(() -> getConventionalCommit(commit), executor));
+
+		if (pendingCommits.size() > maxPendingCommits)
+			conventionalCommits.add(ConcurrencyUtils.join(pendingCommits.poll()));
+	}
+
+	private ConventionalCommitIndex newConventionalCommitIndex() {
+		return new ConventionalCommitIndex(properties.getDuplicateKey(), properties.isMergePullRequests(),
+				properties.isKeepCommitsWithoutKey());
 	}
 
 	private ConventionalCommit getConventionalCommit(Commit commit) {
 		var comment = commit.getComment();
-		var pullRequestId = CommitUtils.getPullRequestIdFromCommitComment(comment);
 
-		List<String> labels = getPullRequestLabels(pullRequestId);
+		// Read all the comment fields at once.
+		var commitComment = commit.getParsedComment();
+		var pullRequestId = commitComment.getPullRequestId();
+
+		var pullRequest = getPullRequestDetails(pullRequestId);
+		List<String> labels = pullRequest.getLabels();
 
 		if (hasSkipLabelOrComment(labels, comment))
 			return null;
 
-		var issueType = getIssueTypeFromPullRequestLabelsOrFromCommitComment(labels, comment);
+		var issueType = labels.isEmpty() ? commitComment.getIssueType()
+				: CommitUtils.getIssueTypeFromPullRequestLabels(labels);
 
 		if (issueType == null)
 			return null;
 
-		var issue = CommitUtils.getIssueFromCommitComment(comment);
-		var component = CommitUtils.getComponentFromCommitComment(comment);
-		var message = CommitUtils.getFormmatedMessageFromCommitComment(comment);
-		var description = getPullRequestDescription(pullRequestId);
+		var description = pullRequest.getDescription();
 		var breakingChange = CommitUtils.getFormmatedBreakingChangeTextFromPullRequestDescription(description);
 
-		return ConventionalCommit.of(pullRequestId, issueType, issue, component, message, breakingChange);
+		return ConventionalCommit.of(pullRequestId, issueType, commitComment.getIssue(), commitComment.getComponent(),
+				commitComment.getMessage(), breakingChange);
 	}
 
-	private List<String> getPullRequestLabels(int pullRequestId) {
+	private PullRequestDetails getPullRequestDetails(int pullRequestId) {
 		if (!CommitUtils.isPullRequestIdValid(pullRequestId))
-			return Collections.emptyList();
+			return PullRequestDetails.EMPTY;
 
-		return pullRequestService.getPullRequestLabelsNames(pullRequestId);
-	}
-
-	private String getPullRequestDescription(int pullRequestId) {
-		if (!CommitUtils.isPullRequestIdValid(pullRequestId))
-			return "";
-
-		return pullRequestService.getPullRequest(pullRequestId).getDescription();
-	}
-
-	private IssueType getIssueTypeFromPullRequestLabelsOrFromCommitComment(List<String> labels, String comment) {
-		if (!labels.isEmpty())
-			return CommitUtils.getIssueTypeFromPullRequestLabels(labels);
-
-		return CommitUtils.getIssueTypeFromCommitComment(comment);
+		// Completed pull requests don't change, so check the cache before calling
+		// the REST API.
+		var key = PullRequestCache.key(azure, pullRequestId);
+		return pullRequestCache.get(key, () -> pullRequestService.getPullRequestDetails(pullRequestId));
 	}
 
 	private boolean hasSkipLabelOrComment(List<String> labels, String comment) {
@@ -148,10 +292,15 @@ public class CommitService extends AzureService {
 		return comment.toLowerCase().contains("skip:");
 	}
 
-	public static class CommitResult extends Result<Commit> {
-		public CommitResult(final int count, final List<Commit> value) {
-			super(count, value);
-		}
+	private static CommitSource newCommitSource(final RestTemplateBuilder builder,
+			final ReleaseNotesProperties properties, final AzureRateController rateController,
+			final MeterRegistry registry) {
+		// The pull requests information still comes from Azure, only the commits
+		// are read from the local repository.
+		if (StringUtils.hasText(properties.getGit().getDirectory()))
+			return new LocalGitCommitSource(properties.getGit());
+
+		return new AzureCommitSource(builder, properties, rateController, registry);
 	}
 
 }
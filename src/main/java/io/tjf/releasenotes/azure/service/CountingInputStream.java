@@ -0,0 +1,56 @@
+package io.tjf.releasenotes.azure.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that counts the bytes read through it.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+class CountingInputStream extends FilterInputStream {
+
+	private long count;
+
+	CountingInputStream(final InputStream in) {
+		super(in);
+	}
+
+	/**
+	 * Return the number of bytes read so far.
+	 * 
+	 * @return number of bytes read
+	 */
+	long getCount() {
+		return count;
+	}
+
+	@Override
+	public int read() throws IOException {
+		var b = super.read();
+
+		if (b >= 0)
+			count++;
+
+		return b;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		var read = super.read(b, off, len);
+
+		if (read > 0)
+			count += read;
+
+		return read;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		var skipped = super.skip(n);
+		count += skipped;
+		return skipped;
+	}
+
+}
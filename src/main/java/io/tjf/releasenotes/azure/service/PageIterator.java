@@ -0,0 +1,113 @@
+package io.tjf.releasenotes.azure.service;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.tjf.releasenotes.helper.ConcurrencyUtils;
+
+/**
+ * Lazy iterator over a {@code $top}/{@code $skip} paged Azure REST API
+ * resource.
+ * <p>
+ * Only the current page is kept in memory. As soon as a full page arrives the
+ * next one is requested in background, so the caller can process the current
+ * page while the next one is still in flight.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+class PageIterator<T> implements Iterator<T> {
+
+	// The page requests block on the HTTP calls, so they don't run on the common
+	// pool. Each stream has at most one page in flight, and the Azure requests
+	// are already bounded by the rate controller.
+	private static final ExecutorService PAGE_EXECUTOR = ConcurrencyUtils.newCachedExecutor("azure-page-");
+
+	private final IntFunction<List<T>> pageLoader;
+	private final int pageSize;
+
+	private Iterator<T> page = Collections.emptyIterator();
+	private CompletableFuture<List<T>> nextPage;
+	private boolean started;
+	private int skip;
+
+	/**
+	 * @param pageLoader function that loads the page starting at the given skip
+	 *                   offset
+	 * @param pageSize   number of items requested per page
+	 */
+	PageIterator(final IntFunction<List<T>> pageLoader, final int pageSize) {
+		this.pageLoader = pageLoader;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Return a sequential stream that pulls the pages on demand.
+	 * 
+	 * @param pageLoader function that loads the page starting at the given skip
+	 *                   offset
+	 * @param pageSize   number of items requested per page
+	 * @return lazy stream of the paged items
+	 */
+	static <T> Stream<T> stream(final IntFunction<List<T>> pageLoader, final int pageSize) {
+		var iterator = new PageIterator<>(pageLoader, pageSize);
+		var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(iterator::cancel);
+	}
+
+	@Override
+	public boolean hasNext() {
+		// The first page is only requested when the first item is pulled.
+		if (!started) {
+			started = true;
+			nextPage = CompletableFuture.completedFuture(load(0));
+		}
+
+		while (!page.hasNext()) {
+			if (nextPage == null)
+				return false;
+
+			List<T> items = ConcurrencyUtils.join(nextPage);
+			nextPage = null;
+
+			// A full page means that there may be more items to fetch.
+			if (items.size() >= pageSize) {
+				var nextSkip = skip;
+				nextPage = CompletableFuture.supplyAsync(() -> load(nextSkip), PAGE_EXECUTOR);
+			}
+
+			page = items.iterator();
+		}
+
+		return true;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		return page.next();
+	}
+
+	private List<T> load(final int offset) {
+		List<T> items = pageLoader.apply(offset);
+		items = items == null ? Collections.emptyList() : items;
+		skip = offset + items.size();
+		return items;
+	}
+
+	private void cancel() {
+		if (nextPage != null)
+			nextPage.cancel(false);
+	}
+
+}
@@ -1,14 +1,29 @@
 package io.tjf.releasenotes.azure.service;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.tjf.releasenotes.azure.payload.Label;
+import io.tjf.releasenotes.azure.payload.PayloadDecoder;
+import io.tjf.releasenotes.azure.payload.PayloadDecoders;
 import io.tjf.releasenotes.azure.payload.PullRequest;
+import io.tjf.releasenotes.azure.payload.PullRequestDetails;
 import io.tjf.releasenotes.azure.payload.Result;
+import io.tjf.releasenotes.helper.ConcurrencyUtils;
+import io.tjf.releasenotes.metrics.MetricsReport;
 import io.tjf.releasenotes.properties.ReleaseNotesProperties;
 
 /**
@@ -22,9 +37,34 @@ public class PullRequestService extends AzureService {
 	private static final String PR_BASE_URI = "pullRequests";
 	private static final String PR_URI = PR_BASE_URI + "/{pullRequestId}";
 	private static final String PR_LABELS_URI = PR_URI + "/labels";
+	private static final String PR_COMPLETED_URI = PR_BASE_URI
+			+ "?searchCriteria.status=completed&searchCriteria.targetRefName={targetRefName}&$top={top}&$skip={skip}";
+	private static final String BRANCH_REF_PREFIX = "refs/heads/";
+	private static final PayloadDecoder<PullRequestResult> PR_RESULT_DECODER = parser -> PayloadDecoders
+			.decodeResult(parser, PayloadDecoders::decodePullRequest, PullRequestResult::new);
+	private static final PayloadDecoder<PullRequestLabelsResult> PR_LABELS_RESULT_DECODER = parser -> PayloadDecoders
+			.decodeResult(parser, PayloadDecoders::decodeLabel, PullRequestLabelsResult::new);
 
-	public PullRequestService(final RestTemplateBuilder builder, final ReleaseNotesProperties properties) {
-		super(builder, properties);
+	// The pull requests listing truncates the descriptions to this length.
+	private static final int LISTED_DESCRIPTION_MAX_LENGTH = 400;
+
+	private final int pageSize;
+
+	// Pull requests information requested during this run. Concurrent requests
+	// for the same pull request share the same future.
+	private final Map<Integer, CompletableFuture<PullRequestDetails>> memo = new ConcurrentHashMap<>();
+	private final Counter memoHits;
+	private final Counter memoMisses;
+
+	public PullRequestService(final RestTemplateBuilder builder, final ReleaseNotesProperties properties,
+			final AzureRateController rateController, final MeterRegistry registry) {
+		super(builder, properties, rateController, registry);
+		this.pageSize = properties.getAzure().getPageSize();
+
+		// Each repository of a batch has its own service, and they all count their
+		// lookups in the same meters.
+		this.memoHits = MetricsReport.getCacheRequestsCounter(registry, "pull-request-memo", true);
+		this.memoMisses = MetricsReport.getCacheRequestsCounter(registry, "pull-request-memo", false);
 	}
 
 	/**
@@ -34,7 +74,7 @@ public class PullRequestService extends AzureService {
 	 * @return pull request object
 	 */
 	public PullRequest getPullRequest(final int pullRequestId) {
-		return get(PullRequest.class, PR_URI, pullRequestId);
+		return get(PayloadDecoders::decodePullRequest, PR_URI, pullRequestId);
 	}
 
 	/**
@@ -44,7 +84,7 @@ public class PullRequestService extends AzureService {
 	 * @return list of pull request labels
 	 */
 	public List<Label> getPullRequestLabels(int pullRequestId) {
-		return get(PullRequestLabelsResult.class, PR_LABELS_URI, pullRequestId).getValue();
+		return get(PR_LABELS_RESULT_DECODER, PR_LABELS_URI, pullRequestId).getValue();
 	}
 
 	/**
@@ -57,6 +97,125 @@ public class PullRequestService extends AzureService {
 		return getPullRequestLabels(pullRequestId).stream().map(Label::getName).collect(Collectors.toList());
 	}
 
+	/**
+	 * Return a lazy stream of the completed pull requests of the given target
+	 * branch, from the newest to the oldest.
+	 * 
+	 * @param branch target branch name
+	 * @return stream of pull requests
+	 */
+	public Stream<PullRequest> streamCompletedPullRequests(final String branch) {
+		var targetRefName = branch.startsWith(BRANCH_REF_PREFIX) ? branch : BRANCH_REF_PREFIX + branch;
+		return PageIterator.stream(
+				skip -> get(PR_RESULT_DECODER, PR_COMPLETED_URI, targetRefName, pageSize, skip).getValue(),
+				pageSize);
+	}
+
+	/**
+	 * Return the labels names and description of the given pull requests, listing
+	 * the completed pull requests of the target branch page by page instead of
+	 * requesting each pull request separately.
+	 * <p>
+	 * The listing stops as soon as all the given pull requests are found. The
+	 * found pull requests are memoized for the next
+	 * {@link #getPullRequestDetails(int)} calls. Pull requests not found - or
+	 * whose description may have been truncated by the listing - are not
+	 * returned.
+	 * 
+	 * @param branch         target branch name
+	 * @param pullRequestIds pull requests ids
+	 * @return pull requests information by pull request id
+	 */
+	public Map<Integer, PullRequestDetails> indexCompletedPullRequests(final String branch,
+			final Set<Integer> pullRequestIds) {
+		if (pullRequestIds.isEmpty())
+			return Collections.emptyMap();
+
+		Map<Integer, PullRequestDetails> index = new HashMap<>();
+		Set<Integer> missingIds = new HashSet<>(pullRequestIds);
+		int oldestId = Collections.min(pullRequestIds);
+
+		try (Stream<PullRequest> pullRequests = streamCompletedPullRequests(branch)) {
+			var iterator = pullRequests.iterator();
+
+			// The pull requests are listed from the newest to the oldest, so there is
+			// no need to go past the oldest wanted one.
+			while (!missingIds.isEmpty() && iterator.hasNext()) {
+				PullRequest pullRequest = iterator.next();
+				var pullRequestId = pullRequest.getPullRequestId();
+
+				if (pullRequestId < oldestId)
+					break;
+
+				if (missingIds.remove(pullRequestId) && !isDescriptionTruncated(pullRequest)) {
+					var details = getPullRequestDetails(pullRequest);
+					memo.putIfAbsent(pullRequestId, CompletableFuture.completedFuture(details));
+					index.put(pullRequestId, details);
+				}
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Return the pull request labels names and description.
+	 * <p>
+	 * The information is requested only once per run: later and concurrent calls
+	 * for the same pull request reuse the first request result.
+	 * 
+	 * @param pullRequestId pull request id
+	 * @return pull request information
+	 */
+	public PullRequestDetails getPullRequestDetails(int pullRequestId) {
+		var request = new CompletableFuture<PullRequestDetails>();
+		var memoized = memo.putIfAbsent(pullRequestId, request);
+
+		if (memoized != null) {
+			memoHits.increment();
+			return ConcurrencyUtils.join(memoized);
+		}
+
+		memoMisses.increment();
+
+		try {
+			var pullRequest = getPullRequest(pullRequestId);
+			var labels = getPullRequestLabelsNames(pullRequestId);
+			var details = PullRequestDetails.of(labels, pullRequest.getDescription(), pullRequest.getStatus());
+			request.complete(details);
+			return details;
+		} catch (RuntimeException e) {
+			// Don't memoize failures, so the next call can try again.
+			memo.remove(pullRequestId, request);
+			request.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Discard the pull requests information memoized during this run.
+	 */
+	public void clearMemo() {
+		memo.clear();
+	}
+
+	private PullRequestDetails getPullRequestDetails(final PullRequest pullRequest) {
+		List<Label> labels = pullRequest.getLabels() == null ? Collections.emptyList() : pullRequest.getLabels();
+		var labelsNames = labels.stream().map(Label::getName).collect(Collectors.toList());
+		return PullRequestDetails.of(labelsNames, pullRequest.getDescription(), pullRequest.getStatus());
+	}
+
+	private boolean isDescriptionTruncated(final PullRequest pullRequest) {
+		var description = pullRequest.getDescription();
+		return description != null && description.length() >= LISTED_DESCRIPTION_MAX_LENGTH;
+	}
+
+	public static class PullRequestResult extends Result<PullRequest> {
+		public PullRequestResult(final int count, final List<PullRequest> value) {
+			super(count, value);
+		}
+	}
+
 	public static class PullRequestLabelsResult extends Result<Label> {
 		public PullRequestLabelsResult(final int count, final List<Label> value) {
 			super(count, value);
@@ -0,0 +1,144 @@
+package io.tjf.releasenotes.generator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.tjf.releasenotes.azure.cache.PullRequestCache;
+import io.tjf.releasenotes.azure.service.AzureRateController;
+import io.tjf.releasenotes.azure.service.CommitService;
+import io.tjf.releasenotes.azure.service.PullRequestService;
+import io.tjf.releasenotes.helper.ConcurrencyUtils;
+import io.tjf.releasenotes.properties.PropertiesValidator;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the release notes of all the configured repositories in the same
+ * execution.
+ * <p>
+ * The properties of each repository are the top-level properties overridden by
+ * the ones set in the repository. The repositories are generated concurrently,
+ * sharing the HTTP connections, the Azure concurrency limit and the pull
+ * request cache, and a failed repository doesn't stop the other ones.
+ *
+ * @author Rubens dos Santos Filho
+ */
+@Slf4j
+@Service
+public class BatchGenerator {
+
+	private static final String PREFIX = "releasenotes";
+	private static final String REPOSITORY_PREFIX = PREFIX + ".repositories[%d]";
+
+	private final Environment environment;
+	private final ReleaseNotesProperties properties;
+	private final PropertiesValidator validator;
+	private final RestTemplateBuilder builder;
+	private final AzureRateController rateController;
+	private final PullRequestCache pullRequestCache;
+	private final ObjectMapper mapper;
+	private final MeterRegistry registry;
+
+	public BatchGenerator(final Environment environment, final ReleaseNotesProperties properties,
+			final PropertiesValidator validator, final RestTemplateBuilder builder,
+			final AzureRateController rateController, final PullRequestCache pullRequestCache,
+			final ObjectMapper mapper, final MeterRegistry registry) {
+		this.environment = environment;
+		this.properties = properties;
+		this.validator = validator;
+		this.builder = builder;
+		this.rateController = rateController;
+		this.pullRequestCache = pullRequestCache;
+		this.mapper = mapper;
+		this.registry = registry;
+	}
+
+	/**
+	 * Generate the release notes of every repository.
+	 *
+	 * @throws IllegalStateException if any repository failed, after all of them
+	 *                               are done
+	 */
+	public void generate() {
+		var size = properties.getRepositories().size();
+		var executor = ConcurrencyUtils.newExecutor("repository-",
+				Math.min(size, properties.getMaxConcurrentRepositories()));
+		List<String> failures;
+
+		try {
+			failures = IntStream.range(0, size)
+					.mapToObj(index -> CompletableFuture.supplyAsync(() -> generate(index), executor))
+					.collect(Collectors.toList()).stream().map(CompletableFuture::join).filter(Objects::nonNull)
+					.collect(Collectors.toList());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if (!failures.isEmpty())
+			throw new IllegalStateException(
+					failures.size() + " of " + size + " repositories failed: " + String.join(", ", failures));
+	}
+
+	/**
+	 * Generate the release notes of the repository, returning its name if it
+	 * failed.
+	 */
+	private String generate(final int index) {
+		var name = String.format(REPOSITORY_PREFIX, index);
+
+		try {
+			var repositoryProperties = bind(index);
+			var azure = repositoryProperties.getAzure();
+			name = azure.getOrganization() + "/" + azure.getProject() + "/" + azure.getRepository();
+
+			validator.validateGeneration(repositoryProperties);
+			generate(repositoryProperties);
+			return null;
+		} catch (Exception e) {
+			log.error("Unable to generate the release notes of {}: {}", name, e.getMessage(), e);
+			return name;
+		}
+	}
+
+	private void generate(final ReleaseNotesProperties repositoryProperties) throws IOException {
+		// The services of each repository share the HTTP connections, the
+		// concurrency limit and the cache, but not the repository coordinates.
+		var pullRequestService = new PullRequestService(builder, repositoryProperties, rateController, registry);
+		var commitService = new CommitService(builder, repositoryProperties, rateController, pullRequestService,
+				pullRequestCache, registry);
+
+		try {
+			new GeneratorService(commitService, repositoryProperties, mapper, registry).generate();
+		} finally {
+			commitService.shutdown();
+		}
+	}
+
+	/**
+	 * Bind the top-level properties and then the repository ones over them.
+	 */
+	private ReleaseNotesProperties bind(final int index) {
+		var binder = Binder.get(environment);
+		var repositoryProperties = new ReleaseNotesProperties();
+
+		binder.bind(PREFIX, Bindable.ofInstance(repositoryProperties));
+		binder.bind(String.format(REPOSITORY_PREFIX, index), Bindable.ofInstance(repositoryProperties));
+		repositoryProperties.getRepositories().clear();
+
+		return repositoryProperties;
+	}
+
+}
@@ -1,127 +1,376 @@
 package io.tjf.releasenotes.generator;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
-import org.springframework.util.FileCopyUtils;
-import org.springframework.util.StringUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.tjf.releasenotes.azure.service.CommitService;
-import io.tjf.releasenotes.helper.CommitUtils;
+import io.tjf.releasenotes.generator.IncrementalFetcher.FetchedRelease;
+import io.tjf.releasenotes.generator.ReleaseFetchPlanner.ReleaseCommits;
+import io.tjf.releasenotes.helper.ConcurrencyUtils;
 import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.helper.FileUtils;
 import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.OutputFormat;
 
 @Service
 public class GeneratorService {
 
 	private static final String BREAK_LINE = "\n";
-	private static final String DOUBLE_BREAK_LINE = BREAK_LINE + BREAK_LINE;
-	private static final String HORIZONTAL_RULE = BREAK_LINE + "***" + DOUBLE_BREAK_LINE;
-	private static final String ISSUE_LINK = "[#%s](%s/%s)";
-	private static final String PR_LINK = "[#PR %s](%s/%s)";
 
-	private final CommitService commitService;
 	private final ReleaseNotesProperties properties;
 	private final Sections sections;
-
-	public GeneratorService(final CommitService commitService, final ReleaseNotesProperties properties) {
-		this.commitService = commitService;
+	private final ReleaseFetchPlanner planner;
+	private final IncrementalFetcher incrementalFetcher;
+	private final WatermarkStore watermarkStore;
+	private final ObjectMapper mapper;
+	private final Timer collationTimer;
+	private final Timer renderingTimer;
+	private final DistributionSummary fileSize;
+
+	public GeneratorService(final CommitService commitService, final ReleaseNotesProperties properties,
+			final ObjectMapper mapper, final MeterRegistry registry) {
 		this.properties = properties;
 		this.sections = new Sections(properties);
+		this.planner = new ReleaseFetchPlanner(commitService, properties);
+		this.incrementalFetcher = new IncrementalFetcher(commitService, properties);
+		this.watermarkStore = new WatermarkStore(mapper, properties.getFile());
+		this.mapper = mapper;
+
+		this.collationTimer = Timer.builder("releasenotes.collation").description("Collation of releases into sections")
+				.register(registry);
+		this.renderingTimer = Timer.builder("releasenotes.rendering").description("Rendering of releases")
+				.register(registry);
+		this.fileSize = DistributionSummary.builder("releasenotes.file.bytes")
+				.description("Size of the written release notes file").baseUnit("bytes").register(registry);
 	}
 
 	public void generate() throws IOException {
-		var defaultBranch = properties.getAzure().getBranch();
-
-		var content = new StringBuilder();
-		content.append("# ").append(properties.getTitle()).append(DOUBLE_BREAK_LINE);
-
-		for (ReleaseNotesProperties.Release release : properties.getReleases()) {
-			var branch = release.getBranch();
-			branch = StringUtils.isEmpty(branch) ? defaultBranch : branch;
+		if (properties.isIncremental()) {
+			generateIncrementally();
+			return;
+		}
 
-			var fromDate = release.getFromDate();
-			var toDate = release.getToDate();
+		if (properties.getOutputs().isEmpty()) {
+			write(Path.of(properties.getFile()), properties.getTitle(), properties.getReleases(), sections,
+					properties.isAppend());
+			return;
+		}
 
-			// Get the pull request commits from this release.
-			List<ConventionalCommit> commits = commitService.getConventionalCommitsFromPeriod(fromDate, toDate, branch);
+		// Fetch and collate the releases once for the file and all the outputs.
+		var releasesCommits = planner.fetch(properties.getReleases(), sections.getItemPaths());
+		render(collate(releasesCommits), true);
+	}
 
-			// Build the map with the release sections.
-			Map<Section, List<ConventionalCommit>> releaseSections = sections.collate(commits);
+	/**
+	 * Generate the release notes of the given releases into the file, replacing
+	 * it.
+	 * 
+	 * @param file     release notes file
+	 * @param title    document title
+	 * @param releases releases, in the order they should appear
+	 * @param sections sections of the releases
+	 * @throws IOException if the file can't be written
+	 */
+	public void generate(final Path file, final String title, final List<ReleaseNotesProperties.Release> releases,
+			final Sections sections) throws IOException {
+		write(file, title, releases, sections, false);
+	}
 
-			content.append("## ").append(release.getTitle());
-			content.append(generateSectionContent(releaseSections)).append(HORIZONTAL_RULE);
+	/**
+	 * Generate the release notes of the given releases into the writer.
+	 * 
+	 * @param writer   release notes writer
+	 * @param title    document title
+	 * @param releases releases, in the order they should appear
+	 * @param sections sections of the releases
+	 * @throws IOException if the content can't be written
+	 */
+	public void generate(final Writer writer, final String title, final List<ReleaseNotesProperties.Release> releases,
+			final Sections sections) throws IOException {
+		// Get the pull request commits from all releases.
+		Map<ReleaseNotesProperties.Release, ReleaseCommits> releasesCommits = planner.fetch(releases,
+				sections.getItemPaths());
+
+		var markdown = new MarkdownWriter(writer, properties);
+		markdown.writeTitle(title);
+
+		Iterator<Map.Entry<ReleaseNotesProperties.Release, ReleaseCommits>> iterator = releasesCommits.entrySet()
+				.iterator();
+
+		while (iterator.hasNext()) {
+			var release = iterator.next();
+			writeRelease(markdown, sections, release.getKey(), release.getValue());
+
+			// Release the commits as soon as they are written.
+			iterator.remove();
 		}
 
-		writeContentToFile(content.toString(), properties.getFile());
+		markdown.writeEnd();
 	}
 
-	private StringBuilder generateSectionContent(final Map<Section, List<ConventionalCommit>> releaseSections) {
-		var content = new StringBuilder();
-		content.append(BREAK_LINE);
+	private void write(final Path path, final String title, final List<ReleaseNotesProperties.Release> releases,
+			final Sections sections, final boolean append) throws IOException {
+		write(path, append, writer -> generate(writer, title, releases, sections));
+	}
+
+	private void write(final Path path, final boolean append, final ContentWriter content) throws IOException {
+		Path file = path.toAbsolutePath();
+
+		// Write to a temporary file first, so the existing file content can be
+		// appended and the file is only replaced when everything is written.
+		Path tempFile = FileUtils.createTempFile(file);
 
-		releaseSections.forEach((section, commits) -> {
-			content.append(BREAK_LINE);
-			content.append("### ").append(section.toString()).append(DOUBLE_BREAK_LINE);
-			commits.stream().map(this::getFormmatedCommitMessage).forEach(content::append);
-		});
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+				content.write(writer);
+			}
 
-		return content;
+			if (append && Files.exists(file))
+				appendFileContent(tempFile, file);
+
+			fileSize.record(Files.size(tempFile));
+
+			// Replace the file at once, so a failure never leaves it half written.
+			FileUtils.move(tempFile, file);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
 	}
 
-	private String getFormmatedCommitMessage(ConventionalCommit commit) {
-		var message = "- ";
+	/**
+	 * Generate only the releases that have commits newer than their watermarks,
+	 * splicing them into the existing release notes file.
+	 */
+	private void generateIncrementally() throws IOException {
+		File file = new File(properties.getFile());
+		Map<String, ReleaseWatermark> watermarks = file.exists() ? watermarkStore.read() : Map.of();
+		List<ReleaseNotesProperties.Release> releases = properties.getReleases();
+
+		// The release commits and each section item path commits have their own
+		// watermark, the null item path being the release one.
+		List<String> itemPaths = new ArrayList<>();
+		itemPaths.add(null);
+		itemPaths.addAll(sections.getItemPaths());
+
+		var executor = ConcurrencyUtils.newExecutor("release-fetch-",
+				Math.min(releases.size() * itemPaths.size(), properties.getAzure().getMaxConcurrency()));
+		List<FetchedRelease> fetchedReleases;
+
+		try {
+			fetchedReleases = releases.stream()
+					.flatMap(release -> itemPaths.stream().map(itemPath -> CompletableFuture.supplyAsync(
+							() -> incrementalFetcher.fetch(release, itemPath,
+									watermarks.get(ReleaseWatermark.key(release.getTitle(), itemPath))),
+							executor)))
+					.collect(Collectors.toList()).stream().map(ConcurrencyUtils::join).collect(Collectors.toList());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Map<ReleaseNotesProperties.Release, ReleaseCommits> releasesCommits = new LinkedHashMap<>();
+		List<ReleaseNotesProperties.Release> changed = new ArrayList<>();
+
+		for (int i = 0; i < releases.size(); i++) {
+			var release = releases.get(i);
+			List<FetchedRelease> fetchedItemPaths = fetchedReleases.subList(i * itemPaths.size(),
+					(i + 1) * itemPaths.size());
+			Map<String, List<ConventionalCommit>> itemPathCommits = new LinkedHashMap<>();
+
+			for (int j = 1; j < itemPaths.size(); j++)
+				itemPathCommits.put(itemPaths.get(j), fetchedItemPaths.get(j).getWatermark().getCommits());
+
+			releasesCommits.put(release,
+					ReleaseCommits.of(fetchedItemPaths.get(0).getWatermark().getCommits(), itemPathCommits));
+
+			if (fetchedItemPaths.stream().anyMatch(FetchedRelease::isChanged))
+				changed.add(release);
+		}
+
+		// The other outputs are rendered from all the releases, the unchanged ones
+		// coming from the watermarks.
+		var renderOutputs = !properties.getOutputs().isEmpty() && (!changed.isEmpty() || properties.getOutputs()
+				.stream().anyMatch(output -> !Files.exists(Path.of(output.getFile()))));
+		var collatedReleases = collate(renderOutputs ? releasesCommits : filter(releasesCommits, changed));
 
-		var component = commit.getComponent();
-		var pullRequestId = commit.getPullRequestId();
-		var issue = commit.getIssue();
-		var breakingChange = commit.getBreakingChange();
+		Map<String, String> changedReleases = new LinkedHashMap<>();
 
-		if (!StringUtils.isEmpty(component))
-			message += component + ": ";
+		for (ReleaseNotesProperties.Release release : changed)
+			changedReleases.put(release.getTitle(), generateReleaseContent(release, collatedReleases.get(release)));
 
-		message += commit.getMessage();
+		var content = file.exists() ? Files.readString(file.toPath())
+				: "# " + properties.getTitle() + BREAK_LINE + BREAK_LINE;
 
-		if (CommitUtils.isPullRequestIdValid(pullRequestId))
-			message += " (" + getLinkToPullRequestId(pullRequestId) + ")";
+		if (!changedReleases.isEmpty() || !file.exists()) {
+			Path path = file.toPath().toAbsolutePath();
+			Path tempFile = FileUtils.createTempFile(path);
 
-		if (!StringUtils.isEmpty(issue))
-			message += " (" + getLinkToIssue(issue) + ")";
+			try {
+				Files.writeString(tempFile, ReleaseNotesSplicer.splice(content, changedReleases));
+				fileSize.record(Files.size(tempFile));
+				FileUtils.move(tempFile, path);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+		}
 
-		message += BREAK_LINE;
+		if (renderOutputs)
+			render(collatedReleases, false);
 
-		if (!StringUtils.isEmpty(breakingChange))
-			message += "    * :warning: **BREAKING CHANGE:** " + breakingChange + BREAK_LINE;
+		watermarkStore.write(
+				fetchedReleases.stream().map(FetchedRelease::getWatermark).collect(Collectors.toList()));
+	}
 
-		return message;
+	private String generateReleaseContent(final ReleaseNotesProperties.Release release,
+			final Map<Section, List<ConventionalCommit>> releaseSections) throws IOException {
+		var content = new StringWriter();
+		writeRelease(new MarkdownWriter(content, properties), release.getTitle(), releaseSections);
+		return content.toString();
 	}
 
-	private String getLinkToIssue(final String issue) {
-		return String.format(ISSUE_LINK, issue, properties.getIssueLinkBaseUrl(), issue);
+	/**
+	 * Render the collated releases into the release notes file, if requested,
+	 * and into the other outputs, each one concurrently.
+	 */
+	private void render(final Map<ReleaseNotesProperties.Release, Map<Section, List<ConventionalCommit>>> releases,
+			final boolean file) throws IOException {
+		List<ReleaseNotesProperties.Output> outputs = properties.getOutputs();
+		var executor = ConcurrencyUtils.newExecutor("release-render-", outputs.size() + 1);
+
+		try {
+			List<CompletableFuture<Void>> renders = new ArrayList<>();
+
+			if (file)
+				renders.add(renderAsync(Path.of(properties.getFile()), properties.isAppend(), OutputFormat.MARKDOWN,
+						releases, executor));
+
+			for (ReleaseNotesProperties.Output output : outputs)
+				renders.add(renderAsync(Path.of(output.getFile()), false, output.getFormat(), releases, executor));
+
+			renders.forEach(ConcurrencyUtils::join);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			executor.shutdownNow();
+		}
 	}
 
-	private String getLinkToPullRequestId(final int pullRequestId) {
-		return String.format(PR_LINK, pullRequestId, properties.getPullRequestLinkBaseUrl(), pullRequestId);
+	private CompletableFuture<Void> renderAsync(final Path path, final boolean append, final OutputFormat format,
+			final Map<ReleaseNotesProperties.Release, Map<Section, List<ConventionalCommit>>> releases,
+			final Executor executor) {
+		return CompletableFuture.runAsync(() -> {
+			try {
+				write(path, append, writer -> {
+					var renderer = newRenderer(format, writer);
+					renderer.writeTitle(properties.getTitle());
+
+					for (var release : releases.entrySet())
+						writeRelease(renderer, release.getKey().getTitle(), release.getValue());
+
+					renderer.writeEnd();
+				});
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, executor);
 	}
 
-	private void writeContentToFile(String content, String path) throws IOException {
-		File file = new File(path);
+	private ReleaseNotesRenderer newRenderer(final OutputFormat format, final Writer writer) throws IOException {
+		switch (format) {
+		case HTML:
+			return new HtmlWriter(writer, properties);
+		case JSON:
+			return new JsonWriter(writer, properties, mapper);
+		default:
+			return new MarkdownWriter(writer, properties);
+		}
+	}
 
-		// Append the file content.
-		if (properties.isAppend() && file.exists()) {
-			Stream<String> lines = Files.lines(file.toPath());
-			content += lines.collect(Collectors.joining(BREAK_LINE));
-			lines.close();
+	/**
+	 * Collate the commits of each release into its sections, once for every
+	 * output.
+	 */
+	private Map<ReleaseNotesProperties.Release, Map<Section, List<ConventionalCommit>>> collate(
+			final Map<ReleaseNotesProperties.Release, ReleaseCommits> releasesCommits) {
+		Map<ReleaseNotesProperties.Release, Map<Section, List<ConventionalCommit>>> collated = new LinkedHashMap<>();
+		releasesCommits.forEach((release, commits) -> collated.put(release, collate(sections, commits)));
+		return collated;
+	}
+
+	private Map<Section, List<ConventionalCommit>> collate(final Sections sections, final ReleaseCommits commits) {
+		return collationTimer.record(() -> sections.collate(commits.getCommits(), commits.getItemPathCommits()));
+	}
+
+	private static Map<ReleaseNotesProperties.Release, ReleaseCommits> filter(
+			final Map<ReleaseNotesProperties.Release, ReleaseCommits> releasesCommits,
+			final List<ReleaseNotesProperties.Release> releases) {
+		Map<ReleaseNotesProperties.Release, ReleaseCommits> filtered = new LinkedHashMap<>();
+		releases.forEach(release -> filtered.put(release, releasesCommits.get(release)));
+		return filtered;
+	}
+
+	private void writeRelease(final ReleaseNotesRenderer renderer, final Sections sections,
+			final ReleaseNotesProperties.Release release, final ReleaseCommits commits) throws IOException {
+		writeRelease(renderer, release.getTitle(), collate(sections, commits));
+	}
+
+	private void writeRelease(final ReleaseNotesRenderer renderer, final String title,
+			final Map<Section, List<ConventionalCommit>> releaseSections) throws IOException {
+		var sample = Timer.start();
+
+		try {
+			renderer.writeRelease(title, releaseSections);
+		} finally {
+			sample.stop(renderingTimer);
 		}
+	}
 
-		FileCopyUtils.copy(content, new FileWriter(file));
+	/**
+	 * Writes the content of a release notes file.
+	 */
+	@FunctionalInterface
+	private interface ContentWriter {
+
+		void write(Writer writer) throws IOException;
+
+	}
+
+	/**
+	 * Copy the existing file bytes after the new content, as they are, without
+	 * decoding them.
+	 */
+	private void appendFileContent(final Path tempFile, final Path file) throws IOException {
+		try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+				FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			var size = source.size();
+			var position = 0L;
+
+			while (position < size)
+				position += source.transferTo(position, size - position, target);
+		}
 	}
 
 }
@@ -0,0 +1,118 @@
+package io.tjf.releasenotes.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import io.tjf.releasenotes.helper.CommitUtils;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Writes the release notes HTML document straight to a {@link Writer}, with
+ * the same content of the markdown one.
+ * <p>
+ * The section emojis are markdown shortcodes, so only the section titles are
+ * written.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class HtmlWriter implements ReleaseNotesRenderer {
+
+	private static final String BREAK_LINE = "\n";
+
+	private final Writer writer;
+	private final String issueLinkBaseUrl;
+	private final String pullRequestLinkBaseUrl;
+
+	public HtmlWriter(final Writer writer, final ReleaseNotesProperties properties) {
+		this.writer = writer;
+		this.issueLinkBaseUrl = properties.getIssueLinkBaseUrl();
+		this.pullRequestLinkBaseUrl = properties.getPullRequestLinkBaseUrl();
+	}
+
+	@Override
+	public void writeTitle(final String title) throws IOException {
+		var escapedTitle = escape(title);
+
+		writer.append("<!DOCTYPE html>").append(BREAK_LINE);
+		writer.append("<html>").append(BREAK_LINE);
+		writer.append("<head>").append(BREAK_LINE);
+		writer.append("<meta charset=\"utf-8\">").append(BREAK_LINE);
+		writer.append("<title>").append(escapedTitle).append("</title>").append(BREAK_LINE);
+		writer.append("</head>").append(BREAK_LINE);
+		writer.append("<body>").append(BREAK_LINE);
+		writer.append("<h1>").append(escapedTitle).append("</h1>").append(BREAK_LINE);
+	}
+
+	@Override
+	public void writeRelease(final String title, final Map<Section, List<ConventionalCommit>> releaseSections)
+			throws IOException {
+		writer.append("<h2>").append(escape(title)).append("</h2>").append(BREAK_LINE);
+
+		for (Map.Entry<Section, List<ConventionalCommit>> releaseSection : releaseSections.entrySet()) {
+			writer.append("<h3>").append(escape(releaseSection.getKey().getTitle())).append("</h3>")
+					.append(BREAK_LINE);
+			writer.append("<ul>").append(BREAK_LINE);
+
+			for (ConventionalCommit commit : releaseSection.getValue())
+				writeCommit(commit);
+
+			writer.append("</ul>").append(BREAK_LINE);
+		}
+
+		writer.append("<hr>").append(BREAK_LINE);
+	}
+
+	@Override
+	public void writeEnd() throws IOException {
+		writer.append("</body>").append(BREAK_LINE);
+		writer.append("</html>").append(BREAK_LINE);
+	}
+
+	private void writeCommit(final ConventionalCommit commit) throws IOException {
+		var component = commit.getComponent();
+		var pullRequestId = commit.getPullRequestId();
+		var issue = commit.getIssue();
+		var breakingChange = commit.getBreakingChange();
+
+		writer.append("<li>");
+
+		if (!StringUtils.isEmpty(component))
+			writer.append("<strong>").append(escape(component)).append(":</strong> ");
+
+		writer.append(escape(commit.getMessage()));
+
+		if (CommitUtils.isPullRequestIdValid(pullRequestId))
+			writePullRequestLink(pullRequestId);
+
+		for (Integer mergedPullRequestId : commit.getMergedPullRequestIds())
+			writePullRequestLink(mergedPullRequestId);
+
+		if (!StringUtils.isEmpty(issue))
+			writeLink(issueLinkBaseUrl + '/' + issue, "#" + issue);
+
+		if (!StringUtils.isEmpty(breakingChange))
+			writer.append(BREAK_LINE).append("<ul><li><strong>BREAKING CHANGE:</strong> ")
+					.append(escape(breakingChange)).append("</li></ul>").append(BREAK_LINE);
+
+		writer.append("</li>").append(BREAK_LINE);
+	}
+
+	private void writePullRequestLink(final int pullRequestId) throws IOException {
+		writeLink(pullRequestLinkBaseUrl + '/' + pullRequestId, "#PR " + pullRequestId);
+	}
+
+	private void writeLink(final String url, final String text) throws IOException {
+		writer.append(" (<a href=\"").append(escape(url)).append("\">").append(escape(text)).append("</a>)");
+	}
+
+	private static String escape(final String text) {
+		return HtmlUtils.htmlEscape(text, "UTF-8");
+	}
+
+}
@@ -0,0 +1,173 @@
+package io.tjf.releasenotes.generator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.util.StringUtils;
+
+import io.tjf.releasenotes.azure.payload.Commit;
+import io.tjf.releasenotes.azure.service.CommitService;
+import io.tjf.releasenotes.helper.CommitUtils;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.Release;
+import io.tjf.releasenotes.source.CommitQuery;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fetches only the commits newer than the release watermark and merges them
+ * into the previously generated conventional commits.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class IncrementalFetcher {
+
+	private final CommitService commitService;
+	private final String defaultBranch;
+
+	public IncrementalFetcher(final CommitService commitService, final ReleaseNotesProperties properties) {
+		this.commitService = commitService;
+		this.defaultBranch = properties.getAzure().getBranch();
+	}
+
+	/**
+	 * Return the release conventional commits and its new watermark.
+	 * 
+	 * @param release         release properties
+	 * @param sectionItemPath item path of a section whose commits are fetched
+	 *                        separately, {@code null} for the release commits
+	 * @param watermark       previous release watermark, may be {@code null}
+	 * @return fetched release
+	 */
+	public FetchedRelease fetch(final Release release, final String sectionItemPath,
+			final ReleaseWatermark watermark) {
+		var branch = release.getBranch();
+		branch = StringUtils.isEmpty(branch) ? defaultBranch : branch;
+		var query = CommitQuery.of(release, branch);
+
+		if (sectionItemPath != null)
+			query = query.withItemPath(sectionItemPath);
+
+		// Without a watermark from the same release configuration, fetch everything.
+		// Watermarks stored by older versions don't have the last commit ids.
+		if (watermark == null || !watermark.isFrom(release, branch, sectionItemPath)
+				|| watermark.getLastCommitDate() == null || watermark.getLastCommitIds() == null)
+			return fetchAll(release, sectionItemPath, query);
+
+		var fromDate = release.getFromDate() == null || release.getFromDate().isBefore(watermark.getLastCommitDate())
+				? watermark.getLastCommitDate()
+				: release.getFromDate();
+
+		// The from date is inclusive, so the commits with the watermark date that
+		// were already processed are fetched again.
+		Set<String> lastCommitIds = new HashSet<>(watermark.getLastCommitIds());
+		List<Commit> commits = commitService.getCommits(query.withFromDate(fromDate)).stream()
+				.filter(commit -> !lastCommitIds.contains(commit.getCommitId())).collect(Collectors.toList());
+
+		if (commits.isEmpty())
+			return FetchedRelease.of(watermark, false);
+
+		var hasPullRequests = commits.stream().anyMatch(CommitUtils::isPullRequestCommit);
+
+		// The first pull request of the release discards its other commits, so the
+		// whole release must be fetched again.
+		if (hasPullRequests && !watermark.isPullRequestsOnly())
+			return fetchAll(release, sectionItemPath, query);
+
+		var lastCommit = getLastCommit(commits, watermark.getLastCommitDate(), watermark.getLastCommitIds());
+
+		if (watermark.isPullRequestsOnly())
+			commits = CommitUtils.filterPullRequestCommits(commits);
+
+		if (commits.isEmpty())
+			return FetchedRelease.of(of(release, sectionItemPath, query, lastCommit, watermark.isPullRequestsOnly(),
+					watermark.getCommits()), false);
+
+		commitService.indexPullRequests(commits, branch);
+		List<ConventionalCommit> newCommits = commitService.getConventionalCommitsFromCommits(commits);
+		List<ConventionalCommit> mergedCommits = commitService.mergeConventionalCommits(newCommits,
+				watermark.getCommits());
+
+		return FetchedRelease.of(
+				of(release, sectionItemPath, query, lastCommit, watermark.isPullRequestsOnly(), mergedCommits), true);
+	}
+
+	private FetchedRelease fetchAll(final Release release, final String sectionItemPath, final CommitQuery query) {
+		List<Commit> commits = commitService.getCommits(query);
+		commitService.indexPullRequests(commits, query.getBranch());
+
+		var hasPullRequests = commits.stream().anyMatch(CommitUtils::isPullRequestCommit);
+		var lastCommit = getLastCommit(commits, null, List.of());
+		var conventionalCommits = commitService.getConventionalCommitsFromCommits(commits);
+
+		return FetchedRelease.of(of(release, sectionItemPath, query, lastCommit, hasPullRequests, conventionalCommits),
+				true);
+	}
+
+	private static ReleaseWatermark of(final Release release, final String sectionItemPath, final CommitQuery query,
+			final LastCommit lastCommit, final boolean pullRequestsOnly, final List<ConventionalCommit> commits) {
+		return ReleaseWatermark.of(release.getTitle(), query.getBranch(), release.getFromDate(), release.getToDate(),
+				release.getFromRef(), release.getToRef(), release.getItemPath(), sectionItemPath,
+				lastCommit.getDate(), lastCommit.getCommitIds(), pullRequestsOnly, commits);
+	}
+
+	/**
+	 * Return the newest commit date and the ids of all the commits with that
+	 * date, including the previous watermark ones if none of the commits is
+	 * newer.
+	 */
+	static LastCommit getLastCommit(final List<Commit> commits, final LocalDateTime lastCommitDate,
+			final List<String> lastCommitIds) {
+		var date = lastCommitDate;
+		List<String> commitIds = new ArrayList<>(lastCommitIds);
+
+		for (Commit commit : commits) {
+			var commitDate = commit.getCommitter() == null ? null : commit.getCommitter().getDate();
+
+			if (commitDate == null)
+				continue;
+
+			if (date == null || commitDate.isAfter(date)) {
+				date = commitDate;
+				commitIds.clear();
+				commitIds.add(commit.getCommitId());
+			} else if (commitDate.equals(date) && !commitIds.contains(commit.getCommitId())) {
+				commitIds.add(commit.getCommitId());
+			}
+		}
+
+		return LastCommit.of(date, commitIds);
+	}
+
+	@AllArgsConstructor(staticName = "of")
+	@Getter
+	static class LastCommit {
+
+		private final LocalDateTime date;
+		private final List<String> commitIds;
+
+	}
+
+	/**
+	 * Represents the release conventional commits and its new watermark.
+	 */
+	@AllArgsConstructor(staticName = "of")
+	@Getter
+	public static class FetchedRelease {
+
+		private final ReleaseWatermark watermark;
+
+		/**
+		 * {@code true} if the release conventional commits changed since the last
+		 * watermark.
+		 */
+		private final boolean changed;
+
+	}
+
+}
@@ -0,0 +1,120 @@
+package io.tjf.releasenotes.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.tjf.releasenotes.helper.CommitUtils;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Writes the release notes JSON document straight to a {@link Writer}, with
+ * a streaming generator, for dashboards and other tools.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class JsonWriter implements ReleaseNotesRenderer {
+
+	private final JsonGenerator generator;
+	private final String issueLinkBaseUrl;
+	private final String pullRequestLinkBaseUrl;
+
+	public JsonWriter(final Writer writer, final ReleaseNotesProperties properties, final ObjectMapper mapper)
+			throws IOException {
+		// The writer belongs to the caller, so only flush it at the end.
+		this.generator = mapper.getFactory().createGenerator(writer)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).useDefaultPrettyPrinter();
+		this.issueLinkBaseUrl = properties.getIssueLinkBaseUrl();
+		this.pullRequestLinkBaseUrl = properties.getPullRequestLinkBaseUrl();
+	}
+
+	@Override
+	public void writeTitle(final String title) throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("title", title);
+		generator.writeArrayFieldStart("releases");
+	}
+
+	@Override
+	public void writeRelease(final String title, final Map<Section, List<ConventionalCommit>> releaseSections)
+			throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("title", title);
+		generator.writeArrayFieldStart("sections");
+
+		for (Map.Entry<Section, List<ConventionalCommit>> releaseSection : releaseSections.entrySet()) {
+			var section = releaseSection.getKey();
+
+			generator.writeStartObject();
+			generator.writeStringField("title", section.getTitle());
+			generator.writeStringField("emoji", section.getEmoji());
+			generator.writeArrayFieldStart("commits");
+
+			for (ConventionalCommit commit : releaseSection.getValue())
+				writeCommit(commit);
+
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+
+	@Override
+	public void writeEnd() throws IOException {
+		generator.writeEndArray();
+		generator.writeEndObject();
+		generator.close();
+	}
+
+	private void writeCommit(final ConventionalCommit commit) throws IOException {
+		var pullRequestId = commit.getPullRequestId();
+		var issue = commit.getIssue();
+
+		generator.writeStartObject();
+
+		if (commit.getIssueType() != null)
+			generator.writeStringField("type", commit.getIssueType().name().toLowerCase());
+
+		writeOptionalField("component", commit.getComponent());
+		generator.writeStringField("message", commit.getMessage());
+
+		if (!StringUtils.isEmpty(issue)) {
+			generator.writeStringField("issue", issue);
+			generator.writeStringField("issueUrl", issueLinkBaseUrl + '/' + issue);
+		}
+
+		generator.writeArrayFieldStart("pullRequests");
+
+		if (CommitUtils.isPullRequestIdValid(pullRequestId))
+			writePullRequest(pullRequestId);
+
+		for (Integer mergedPullRequestId : commit.getMergedPullRequestIds())
+			writePullRequest(mergedPullRequestId);
+
+		generator.writeEndArray();
+		writeOptionalField("breakingChange", commit.getBreakingChange());
+		generator.writeEndObject();
+	}
+
+	private void writePullRequest(final int pullRequestId) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField("id", pullRequestId);
+		generator.writeStringField("url", pullRequestLinkBaseUrl + '/' + pullRequestId);
+		generator.writeEndObject();
+	}
+
+	private void writeOptionalField(final String name, final String value) throws IOException {
+		if (!StringUtils.isEmpty(value))
+			generator.writeStringField(name, value);
+	}
+
+}
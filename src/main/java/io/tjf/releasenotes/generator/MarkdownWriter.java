@@ -0,0 +1,93 @@
+package io.tjf.releasenotes.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+import io.tjf.releasenotes.helper.CommitUtils;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Writes the release notes markdown straight to a {@link Writer}, piece by
+ * piece, without building the document in memory.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class MarkdownWriter implements ReleaseNotesRenderer {
+
+	private static final String BREAK_LINE = "\n";
+	private static final String DOUBLE_BREAK_LINE = BREAK_LINE + BREAK_LINE;
+	private static final String HORIZONTAL_RULE = BREAK_LINE + "***" + DOUBLE_BREAK_LINE;
+	private static final String BREAKING_CHANGE = "    * :warning: **BREAKING CHANGE:** ";
+
+	private final Writer writer;
+	private final String issueLinkBaseUrl;
+	private final String pullRequestLinkBaseUrl;
+
+	public MarkdownWriter(final Writer writer, final ReleaseNotesProperties properties) {
+		this.writer = writer;
+		this.issueLinkBaseUrl = properties.getIssueLinkBaseUrl();
+		this.pullRequestLinkBaseUrl = properties.getPullRequestLinkBaseUrl();
+	}
+
+	@Override
+	public void writeTitle(final String title) throws IOException {
+		writer.append("# ").append(title).append(DOUBLE_BREAK_LINE);
+	}
+
+	@Override
+	public void writeRelease(final String title, final Map<Section, List<ConventionalCommit>> releaseSections)
+			throws IOException {
+		writer.append("## ").append(title).append(BREAK_LINE);
+
+		for (Map.Entry<Section, List<ConventionalCommit>> releaseSection : releaseSections.entrySet()) {
+			writer.append(BREAK_LINE);
+			writer.append("### ").append(releaseSection.getKey().toString()).append(DOUBLE_BREAK_LINE);
+
+			for (ConventionalCommit commit : releaseSection.getValue())
+				writeCommit(commit);
+		}
+
+		writer.append(HORIZONTAL_RULE);
+	}
+
+	private void writeCommit(final ConventionalCommit commit) throws IOException {
+		var component = commit.getComponent();
+		var pullRequestId = commit.getPullRequestId();
+		var issue = commit.getIssue();
+		var breakingChange = commit.getBreakingChange();
+
+		writer.append("- ");
+
+		if (!StringUtils.isEmpty(component))
+			writer.append(component).append(": ");
+
+		writer.append(commit.getMessage());
+
+		if (CommitUtils.isPullRequestIdValid(pullRequestId))
+			writePullRequestLink(pullRequestId);
+
+		for (Integer mergedPullRequestId : commit.getMergedPullRequestIds())
+			writePullRequestLink(mergedPullRequestId);
+
+		if (!StringUtils.isEmpty(issue))
+			writer.append(" ([#").append(issue).append("](").append(issueLinkBaseUrl).append('/').append(issue)
+					.append("))");
+
+		writer.append(BREAK_LINE);
+
+		if (!StringUtils.isEmpty(breakingChange))
+			writer.append(BREAKING_CHANGE).append(breakingChange).append(BREAK_LINE);
+	}
+
+	private void writePullRequestLink(final int pullRequestId) throws IOException {
+		var id = String.valueOf(pullRequestId);
+		writer.append(" ([#PR ").append(id).append("](").append(pullRequestLinkBaseUrl).append('/').append(id)
+				.append("))");
+	}
+
+}
@@ -0,0 +1,270 @@
+package io.tjf.releasenotes.generator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.springframework.util.StringUtils;
+
+import io.tjf.releasenotes.azure.payload.Commit;
+import io.tjf.releasenotes.azure.service.CommitService;
+import io.tjf.releasenotes.helper.ConcurrencyUtils;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.Release;
+import io.tjf.releasenotes.source.CommitQuery;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Plans and executes the commits queries of the releases.
+ * <p>
+ * The releases of the same branch whose periods overlap or touch each other are
+ * fetched with a single commits query, and the commits are then split back
+ * into the releases by their commit date. The releases delimited by refs are
+ * fetched with their own query. Each branch and item path is fetched
+ * concurrently.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class ReleaseFetchPlanner {
+
+	// Periods closer than this are considered contiguous, e.g.: one release ending
+	// at 23:59:59 and the next one starting at 00:00:00.
+	private static final Duration MAX_GAP = Duration.ofSeconds(1);
+
+	private final CommitService commitService;
+	private final String defaultBranch;
+	private final int maxConcurrency;
+
+	public ReleaseFetchPlanner(final CommitService commitService, final ReleaseNotesProperties properties) {
+		this.commitService = commitService;
+		this.defaultBranch = properties.getAzure().getBranch();
+		this.maxConcurrency = properties.getAzure().getMaxConcurrency();
+	}
+
+	/**
+	 * Return the conventional commits of each release, from the release item
+	 * path and from each of the given item paths.
+	 * 
+	 * @param releases  list of releases
+	 * @param itemPaths item paths whose commits are fetched separately, e.g.: the
+	 *                  sections ones
+	 * @return conventional commits by release, in the given releases order
+	 */
+	public Map<Release, ReleaseCommits> fetch(final List<Release> releases, final Set<String> itemPaths) {
+		Map<Scope, Set<Release>> scopes = new LinkedHashMap<>();
+
+		for (Release release : releases) {
+			var branch = getBranch(release);
+			addScope(scopes, Scope.of(branch, getItemPath(release)), release);
+			itemPaths.forEach(itemPath -> addScope(scopes, Scope.of(branch, itemPath), release));
+		}
+
+		if (scopes.isEmpty())
+			return new LinkedHashMap<>();
+
+		// Each branch and path is a separate query, and Azure filters the path,
+		// so they are fetched concurrently.
+		var executor = ConcurrencyUtils.newExecutor("release-fetch-", Math.min(scopes.size(), maxConcurrency));
+
+		try {
+			Map<Scope, CompletableFuture<Map<Release, List<ConventionalCommit>>>> fetches = new LinkedHashMap<>();
+			scopes.forEach((scope, scopeReleases) -> fetches.put(scope, CompletableFuture
+					.supplyAsync(() -> fetch(scope, new ArrayList<>(scopeReleases)), executor)));
+
+			Map<Scope, Map<Release, List<ConventionalCommit>>> fetched = new LinkedHashMap<>();
+			fetches.forEach((scope, fetch) -> fetched.put(scope, ConcurrencyUtils.join(fetch)));
+
+			Map<Release, ReleaseCommits> releasesCommits = new LinkedHashMap<>();
+
+			for (Release release : releases) {
+				var branch = getBranch(release);
+				Map<String, List<ConventionalCommit>> itemPathCommits = new LinkedHashMap<>();
+				itemPaths.forEach(itemPath -> itemPathCommits.put(itemPath,
+						fetched.get(Scope.of(branch, itemPath)).get(release)));
+
+				releasesCommits.put(release, ReleaseCommits
+						.of(fetched.get(Scope.of(branch, getItemPath(release))).get(release), itemPathCommits));
+			}
+
+			return releasesCommits;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Map<Release, List<ConventionalCommit>> fetch(final Scope scope, final List<Release> releases) {
+		var branch = scope.getBranch();
+		var itemPath = scope.getItemPath();
+		Map<Release, List<ConventionalCommit>> releasesCommits = new LinkedHashMap<>();
+
+		// A ref range release is queried exactly, and its commits can't be told
+		// apart from the other releases by date.
+		for (Release release : releases) {
+			if (release.hasRefs())
+				releasesCommits.put(release, commitService
+						.getConventionalCommits(CommitQuery.of(release, branch).withItemPath(itemPath)));
+		}
+
+		for (Window window : plan(releases)) {
+			// A single release can be streamed straight from the REST API.
+			if (window.releases.size() == 1) {
+				var release = window.releases.get(0);
+				releasesCommits.put(release, commitService.getConventionalCommits(
+						CommitQuery.of(release.getFromDate(), release.getToDate(), branch).withItemPath(itemPath)));
+				continue;
+			}
+
+			List<Commit> commits = commitService.getCommits(
+					CommitQuery.of(window.getFromDate(), window.getToDate(), branch).withItemPath(itemPath));
+			commitService.indexPullRequests(commits, branch);
+
+			for (Release release : window.releases) {
+				List<Commit> releaseCommits = commits.stream().filter(commit -> isFromRelease(commit, release))
+						.collect(Collectors.toList());
+				releasesCommits.put(release, commitService.getConventionalCommitsFromCommits(releaseCommits));
+			}
+		}
+
+		return releasesCommits;
+	}
+
+	private static void addScope(final Map<Scope, Set<Release>> scopes, final Scope scope, final Release release) {
+		scopes.computeIfAbsent(scope, key -> new LinkedHashSet<>()).add(release);
+	}
+
+	/**
+	 * Merge the releases periods into the smallest set of commits queries.
+	 */
+	private List<Window> plan(final List<Release> releases) {
+		List<Release> sorted = releases.stream().filter(release -> !release.hasRefs())
+				.collect(Collectors.toCollection(ArrayList::new));
+		sorted.sort(Comparator.comparing(release -> fromDate(release.getFromDate())));
+
+		List<Window> windows = new ArrayList<>();
+		Window window = null;
+
+		for (Release release : sorted) {
+			if (window != null && window.isContiguous(release)) {
+				window.add(release);
+			} else {
+				window = new Window(release);
+				windows.add(window);
+			}
+		}
+
+		return windows;
+	}
+
+	private String getBranch(final Release release) {
+		var branch = release.getBranch();
+		return StringUtils.isEmpty(branch) ? defaultBranch : branch;
+	}
+
+	private static String getItemPath(final Release release) {
+		var itemPath = release.getItemPath();
+		return StringUtils.hasText(itemPath) ? itemPath : null;
+	}
+
+	/**
+	 * Return {@code true} if the commit date is inside the release period. The
+	 * commit date is the committer date in UTC, the same one that the REST API
+	 * filters by. A commit without date can't be placed, so it's in no release.
+	 */
+	private static boolean isFromRelease(final Commit commit, final Release release) {
+		if (commit.getCommitter() == null || commit.getCommitter().getDate() == null)
+			return false;
+
+		var date = commit.getCommitter().getDate();
+		return !date.isBefore(fromDate(release.getFromDate())) && !date.isAfter(toDate(release.getToDate()));
+	}
+
+	private static LocalDateTime fromDate(final LocalDateTime date) {
+		return date == null ? LocalDateTime.MIN : date;
+	}
+
+	private static LocalDateTime toDate(final LocalDateTime date) {
+		return date == null ? LocalDateTime.MAX : date;
+	}
+
+	/**
+	 * Represents the conventional commits of a release.
+	 */
+	@AllArgsConstructor(staticName = "of")
+	@Getter
+	public static class ReleaseCommits {
+
+		/**
+		 * Conventional commits of the release item path.
+		 */
+		private final List<ConventionalCommit> commits;
+
+		/**
+		 * Conventional commits of each of the other item paths.
+		 */
+		private final Map<String, List<ConventionalCommit>> itemPathCommits;
+
+	}
+
+	/**
+	 * Branch and item path of a commits query.
+	 */
+	@AllArgsConstructor(staticName = "of")
+	@Getter
+	@EqualsAndHashCode
+	private static class Scope {
+
+		private final String branch;
+		private final String itemPath;
+
+	}
+
+	/**
+	 * Period covered by a single commits query.
+	 */
+	private static class Window {
+
+		private final List<Release> releases = new ArrayList<>();
+		private LocalDateTime fromDate;
+		private LocalDateTime toDate;
+
+		Window(final Release release) {
+			releases.add(release);
+			fromDate = fromDate(release.getFromDate());
+			toDate = toDate(release.getToDate());
+		}
+
+		boolean isContiguous(final Release release) {
+			return toDate.equals(LocalDateTime.MAX)
+					|| !fromDate(release.getFromDate()).isAfter(toDate.plus(MAX_GAP));
+		}
+
+		void add(final Release release) {
+			releases.add(release);
+			var releaseToDate = toDate(release.getToDate());
+
+			if (releaseToDate.isAfter(toDate))
+				toDate = releaseToDate;
+		}
+
+		LocalDateTime getFromDate() {
+			return fromDate.equals(LocalDateTime.MIN) ? null : fromDate;
+		}
+
+		LocalDateTime getToDate() {
+			return toDate.equals(LocalDateTime.MAX) ? null : toDate;
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+package io.tjf.releasenotes.generator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import io.tjf.releasenotes.helper.ConventionalCommit;
+
+/**
+ * Renders the release notes in some format, piece by piece, in the order: the
+ * title, each release and then the end of the document.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public interface ReleaseNotesRenderer {
+
+	/**
+	 * Write the document title.
+	 * 
+	 * @param title document title
+	 * @throws IOException if the content can't be written
+	 */
+	void writeTitle(String title) throws IOException;
+
+	/**
+	 * Write the release title and its sections.
+	 * 
+	 * @param title           release title
+	 * @param releaseSections release commits by section
+	 * @throws IOException if the content can't be written
+	 */
+	void writeRelease(String title, Map<Section, List<ConventionalCommit>> releaseSections) throws IOException;
+
+	/**
+	 * Write the end of the document, after all the releases.
+	 * 
+	 * @throws IOException if the content can't be written
+	 */
+	default void writeEnd() throws IOException {
+	}
+
+}
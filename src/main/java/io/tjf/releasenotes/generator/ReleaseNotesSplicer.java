@@ -0,0 +1,87 @@
+package io.tjf.releasenotes.generator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces release blocks of an existing release notes document.
+ * <p>
+ * A release block starts at its {@code ## title} line and ends right before the
+ * next release or document title line. The release blocks that aren't replaced
+ * and any other content - like previously appended documents - are kept as
+ * they are.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class ReleaseNotesSplicer {
+
+	private static final String TITLE_PREFIX = "# ";
+	private static final String RELEASE_PREFIX = "## ";
+
+	private ReleaseNotesSplicer() {
+	}
+
+	/**
+	 * Return the document with the given release blocks replaced. Releases not
+	 * found in the document are inserted before the first release block, in the
+	 * given order.
+	 * 
+	 * @param document release notes document
+	 * @param releases release blocks by release title
+	 * @return spliced document
+	 */
+	public static String splice(final String document, final Map<String, String> releases) {
+		List<String> blocks = split(document);
+		Map<String, String> missingReleases = new LinkedHashMap<>(releases);
+		var firstRelease = -1;
+
+		for (int i = 0; i < blocks.size(); i++) {
+			var title = getTitle(blocks.get(i));
+
+			if (title != null && firstRelease < 0)
+				firstRelease = i;
+
+			if (title != null && missingReleases.containsKey(title))
+				blocks.set(i, missingReleases.remove(title));
+		}
+
+		blocks.addAll(firstRelease < 0 ? blocks.size() : firstRelease, missingReleases.values());
+		return String.join("", blocks);
+	}
+
+	/**
+	 * Split the document at each release and document title line.
+	 */
+	private static List<String> split(final String document) {
+		List<String> blocks = new ArrayList<>();
+		var start = 0;
+		var lineStart = 0;
+
+		while (lineStart < document.length()) {
+			var isTitle = document.startsWith(TITLE_PREFIX, lineStart) || document.startsWith(RELEASE_PREFIX, lineStart);
+
+			if (isTitle && lineStart > start) {
+				blocks.add(document.substring(start, lineStart));
+				start = lineStart;
+			}
+
+			var lineEnd = document.indexOf('\n', lineStart);
+			lineStart = lineEnd < 0 ? document.length() : lineEnd + 1;
+		}
+
+		blocks.add(document.substring(start));
+		return blocks;
+	}
+
+	private static String getTitle(final String block) {
+		if (!block.startsWith(RELEASE_PREFIX))
+			return null;
+
+		var lineEnd = block.indexOf('\n');
+		var line = lineEnd < 0 ? block : block.substring(0, lineEnd);
+		return line.substring(RELEASE_PREFIX.length()).trim();
+	}
+
+}
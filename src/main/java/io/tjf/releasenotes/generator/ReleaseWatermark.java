@@ -0,0 +1,72 @@
+package io.tjf.releasenotes.generator;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.Release;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the last processed commit of a release and the conventional
+ * commits generated up to it.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@AllArgsConstructor(staticName = "of")
+@Getter
+public class ReleaseWatermark {
+
+	private final String title;
+	private final String branch;
+	private final LocalDateTime fromDate;
+	private final LocalDateTime toDate;
+	private final String fromRef;
+	private final String toRef;
+	private final String itemPath;
+	private final String sectionItemPath;
+	private final LocalDateTime lastCommitDate;
+
+	/**
+	 * Ids of the processed commits with the last commit date. The next fetch
+	 * starts at that date, so these commits are fetched again and skipped.
+	 */
+	private final List<String> lastCommitIds;
+
+	private final boolean pullRequestsOnly;
+	private final List<ConventionalCommit> commits;
+
+	/**
+	 * Return {@code true} if the watermark was generated by the given release
+	 * configuration.
+	 * 
+	 * @param release         release properties
+	 * @param branch          release branch name
+	 * @param sectionItemPath section item path, {@code null} for the release
+	 *                        commits
+	 * @return {@code true} if the release configuration didn't change
+	 */
+	public boolean isFrom(final Release release, final String branch, final String sectionItemPath) {
+		return Objects.equals(title, release.getTitle()) && Objects.equals(this.branch, branch)
+				&& Objects.equals(fromDate, release.getFromDate()) && Objects.equals(toDate, release.getToDate())
+				&& Objects.equals(fromRef, release.getFromRef()) && Objects.equals(toRef, release.getToRef())
+				&& Objects.equals(itemPath, release.getItemPath())
+				&& Objects.equals(this.sectionItemPath, sectionItemPath);
+	}
+
+	/**
+	 * Return the key of the watermark of the release commits or of a section
+	 * item path commits.
+	 * 
+	 * @param title           release title
+	 * @param sectionItemPath section item path, {@code null} for the release
+	 *                        commits
+	 * @return watermark key
+	 */
+	public static String key(final String title, final String sectionItemPath) {
+		return sectionItemPath == null ? title : title + " " + sectionItemPath;
+	}
+
+}
@@ -15,8 +15,13 @@ public class Section {
 	private final String emoji;
 	private final List<String> labels;
 
+	/**
+	 * Repository path of the section commits, {@code null} for the release ones.
+	 */
+	private final String itemPath;
+
 	public Section(String title, String emoji, String... labels) {
-		this(title, emoji, Arrays.asList(labels));
+		this(title, emoji, Arrays.asList(labels), null);
 	}
 
 	public boolean isMatchFor(IssueType issueType) {
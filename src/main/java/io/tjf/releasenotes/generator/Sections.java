@@ -2,22 +2,26 @@ package io.tjf.releasenotes.generator;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.helper.IssueType;
 import io.tjf.releasenotes.properties.ReleaseNotesProperties;
 
 public class Sections {
 
 	private static final List<Section> DEFAULT_SECTIONS;
 	private final List<Section> sectionsList;
+	private final Map<IssueType, Section> sectionsByIssueType;
+	private final Map<String, Map<IssueType, Section>> itemPathSectionsByIssueType;
 
 	static {
 		List<Section> sections = new ArrayList<>();
@@ -31,7 +35,21 @@ public class Sections {
 	}
 
 	public Sections(final ReleaseNotesProperties properties) {
-		sectionsList = adapt(properties.getSections());
+		this(properties.getSections());
+	}
+
+	public Sections(final List<ReleaseNotesProperties.Section> propertySections) {
+		sectionsList = adapt(propertySections);
+
+		// The sections of each item path are matched against their own commits.
+		Map<String, List<Section>> sectionsByItemPath = new LinkedHashMap<>();
+		sectionsList.stream().filter(section -> section.getItemPath() != null).forEach(section -> sectionsByItemPath
+				.computeIfAbsent(section.getItemPath(), itemPath -> new ArrayList<>()).add(section));
+
+		sectionsByIssueType = index(sectionsList.stream().filter(section -> section.getItemPath() == null)
+				.collect(Collectors.toList()));
+		itemPathSectionsByIssueType = new LinkedHashMap<>();
+		sectionsByItemPath.forEach((itemPath, sections) -> itemPathSectionsByIssueType.put(itemPath, index(sections)));
 	}
 
 	private static void add(final List<Section> sections, final String title, final String emoji,
@@ -47,28 +65,77 @@ public class Sections {
 	}
 
 	private Section adapt(final ReleaseNotesProperties.Section propertySection) {
-		return Section.of(propertySection.getTitle(), propertySection.getEmoji(), propertySection.getLabels());
+		var itemPath = propertySection.getItemPath();
+		return Section.of(propertySection.getTitle(), propertySection.getEmoji(), propertySection.getLabels(),
+				StringUtils.hasText(itemPath) ? itemPath : null);
+	}
+
+	/**
+	 * Return the item paths of the sections that have their own commits.
+	 * 
+	 * @return sections item paths
+	 */
+	public Set<String> getItemPaths() {
+		return itemPathSectionsByIssueType.keySet();
+	}
+
+	/**
+	 * Resolve the section of each issue type once, the first configured section
+	 * that matches the type wins.
+	 */
+	private static Map<IssueType, Section> index(final List<Section> sections) {
+		Map<IssueType, Section> sectionsByIssueType = new EnumMap<>(IssueType.class);
+
+		for (Section section : sections) {
+			for (IssueType issueType : IssueType.values()) {
+				if (section.isMatchFor(issueType))
+					sectionsByIssueType.putIfAbsent(issueType, section);
+			}
+		}
+
+		return sectionsByIssueType;
 	}
 
 	public Map<Section, List<ConventionalCommit>> collate(final List<ConventionalCommit> commits) {
-		SortedMap<Section, List<ConventionalCommit>> collated = new TreeMap<>(
-				Comparator.comparing(sectionsList::indexOf));
+		return collate(commits, Map.of());
+	}
 
+	/**
+	 * Collate the release commits into the sections. The sections with an item
+	 * path take the commits of their path instead.
+	 * 
+	 * @param commits         release commits
+	 * @param itemPathCommits commits of each of the {@link #getItemPaths()}
+	 * @return commits by section, in the sections order
+	 */
+	public Map<Section, List<ConventionalCommit>> collate(final List<ConventionalCommit> commits,
+			final Map<String, List<ConventionalCommit>> itemPathCommits) {
+		// Create the buckets in the sections order, so the result keeps it.
+		Map<Section, List<ConventionalCommit>> collated = new LinkedHashMap<>();
+		sectionsList.forEach(section -> collated.put(section, new ArrayList<>()));
+
+		collate(collated, sectionsByIssueType, commits);
+		itemPathSectionsByIssueType.forEach((itemPath, sections) -> collate(collated, sections,
+				itemPathCommits.getOrDefault(itemPath, List.of())));
+
+		collated.values().removeIf(List::isEmpty);
+		return collated;
+	}
+
+	private static void collate(final Map<Section, List<ConventionalCommit>> collated,
+			final Map<IssueType, Section> sectionsByIssueType, final List<ConventionalCommit> commits) {
 		for (ConventionalCommit commit : commits) {
-			Section section = getSection(commit);
+			Section section = getSection(sectionsByIssueType, commit);
 
-			if (section != null) {
-				collated.computeIfAbsent(section, key -> new ArrayList<>());
+			if (section != null)
 				collated.get(section).add(commit);
-			}
 		}
-
-		return collated;
 	}
 
-	private Section getSection(ConventionalCommit prCommit) {
-		return sectionsList.stream().filter(section -> section.isMatchFor(prCommit.getIssueType())).findFirst()
-				.orElse(null);
+	private static Section getSection(final Map<IssueType, Section> sectionsByIssueType,
+			final ConventionalCommit prCommit) {
+		var issueType = prCommit.getIssueType();
+		return issueType != null ? sectionsByIssueType.get(issueType) : null;
 	}
 
 }
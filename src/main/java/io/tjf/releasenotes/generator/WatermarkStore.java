@@ -0,0 +1,78 @@
+package io.tjf.releasenotes.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.tjf.releasenotes.helper.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads and writes the releases watermarks, stored next to the release notes
+ * file.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@Slf4j
+public class WatermarkStore {
+
+	private static final String WATERMARK_SUFFIX = ".watermark.json";
+	private static final TypeReference<List<ReleaseWatermark>> WATERMARKS_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper mapper;
+	private final Path file;
+
+	public WatermarkStore(final ObjectMapper mapper, final String releaseNotesFile) {
+		this.mapper = mapper;
+		this.file = Paths.get(releaseNotesFile + WATERMARK_SUFFIX);
+	}
+
+	/**
+	 * Return the stored watermarks by {@link ReleaseWatermark#key key}.
+	 * 
+	 * @return watermarks by key
+	 */
+	public Map<String, ReleaseWatermark> read() {
+		if (!Files.exists(file))
+			return Collections.emptyMap();
+
+		try {
+			List<ReleaseWatermark> watermarks = mapper.readValue(file.toFile(), WATERMARKS_TYPE);
+			return watermarks.stream()
+					.collect(Collectors.toMap(
+							watermark -> ReleaseWatermark.key(watermark.getTitle(), watermark.getSectionItemPath()),
+							Function.identity(), (a, b) -> a));
+		} catch (IOException e) {
+			log.warn("Ignoring the unreadable watermark file {}: {}", file, e.getMessage());
+			return Collections.emptyMap();
+		}
+	}
+
+	/**
+	 * Replace the stored watermarks.
+	 * 
+	 * @param watermarks releases watermarks
+	 * @throws IOException if the file can't be written
+	 */
+	public void write(final List<ReleaseWatermark> watermarks) throws IOException {
+		Path tempFile = FileUtils.createTempFile(file);
+
+		try {
+			mapper.writeValue(tempFile.toFile(), watermarks);
+			FileUtils.move(tempFile, file);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+package io.tjf.releasenotes.helper;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The conventional commit fields of a commit comment, read in a single pass.
+ * <p>
+ * A comment like {@code "Merged PR 123: fix(component): a bug fix. (ISSUE-1)"}
+ * has the pull request id {@code 123}, the issue type {@code fix}, the
+ * component {@code component}, the message {@code "A bug fix."} and the issue
+ * {@code ISSUE-1}. Every part is optional and malformed comments give empty
+ * fields instead of errors.
+ *
+ * @author Rubens dos Santos Filho
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class CommitComment {
+
+	private static final String MERGED_TEXT = "Merged";
+	private static final String MERGED_PR_TEXT = MERGED_TEXT + " PR";
+
+	private final boolean pullRequest;
+	private final int pullRequestId;
+	private final IssueType issueType;
+	private final String component;
+	private final String message;
+	private final String issue;
+
+	/**
+	 * Parse the commit comment.
+	 *
+	 * @param comment commit comment
+	 * @return commit comment fields
+	 */
+	public static CommitComment parse(final String comment) {
+		var length = comment.length();
+		var mergedIndex = -1;
+		var mergedPullRequestIndex = -1;
+		var firstColon = -1;
+		var secondColon = -1;
+		var lastOpenParenthesis = -1;
+
+		// Find every delimiter in one scan, the fields are then read between them.
+		for (int i = 0; i < length; i++) {
+			var c = comment.charAt(i);
+
+			if (c == ':') {
+				if (firstColon < 0)
+					firstColon = i;
+				else if (secondColon < 0)
+					secondColon = i;
+			} else if (c == '(') {
+				lastOpenParenthesis = i;
+			} else if (c == 'M' && mergedPullRequestIndex < 0 && comment.startsWith(MERGED_TEXT, i)) {
+				if (mergedIndex < 0)
+					mergedIndex = i;
+				if (comment.startsWith(MERGED_PR_TEXT, i))
+					mergedPullRequestIndex = i;
+			}
+		}
+
+		var pullRequest = mergedPullRequestIndex >= 0;
+		var pullRequestId = pullRequest
+				? parsePullRequestId(comment, mergedPullRequestIndex + MERGED_PR_TEXT.length(), firstColon)
+				: -1;
+
+		// From: "Merged PR 123: fix(component): a bug fix. (ISSUE-1)"
+		// To: "fix(component): a bug fix. (ISSUE-1)"
+		var merged = mergedIndex >= 0 && mergedIndex < firstColon;
+		var start = merged ? firstColon + 1 : 0;
+		var headerEnd = merged ? secondColon : firstColon;
+
+		IssueType issueType = null;
+		var component = "";
+		var messageStart = start;
+
+		// From: "fix(component): a bug fix. (ISSUE-1)"
+		// To: "fix" and "component"
+		if (headerEnd >= 0) {
+			var typeEnd = indexOf(comment, '(', start, headerEnd);
+
+			if (typeEnd < 0) {
+				typeEnd = headerEnd;
+			} else {
+				var componentEnd = indexOf(comment, ')', typeEnd + 1, headerEnd);
+				component = trim(comment, typeEnd + 1, componentEnd < 0 ? headerEnd : componentEnd).toLowerCase();
+			}
+
+			issueType = IssueType.safeValueOf(trim(comment, start, typeEnd));
+			messageStart = headerEnd + 1;
+		}
+
+		// From: " a bug fix. (ISSUE-1)"
+		// To: " a bug fix. " and "ISSUE-1"
+		var end = length;
+		var issue = "";
+
+		if (length > 0 && comment.charAt(length - 1) == ')' && lastOpenParenthesis >= messageStart) {
+			issue = comment.substring(lastOpenParenthesis + 1, length - 1).toUpperCase();
+			end = lastOpenParenthesis;
+		}
+
+		// From: " a bug fix. "
+		// To: "A bug fix."
+		var message = capitalizeFirstLetter(trim(comment, messageStart, end));
+
+		return new CommitComment(pullRequest, pullRequestId, issueType, component, message, issue);
+	}
+
+	/**
+	 * Return the text with the first letter in upper case.
+	 *
+	 * @param text text
+	 * @return capitalized text
+	 */
+	public static String capitalizeFirstLetter(final String text) {
+		if (text.isEmpty() || Character.isUpperCase(text.charAt(0)))
+			return text;
+
+		return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+	}
+
+	/**
+	 * Return the text between the given indexes without the leading and
+	 * trailing whitespaces.
+	 *
+	 * @param text  text
+	 * @param start start index, inclusive
+	 * @param end   end index, exclusive
+	 * @return trimmed text
+	 */
+	public static String trim(final String text, int start, int end) {
+		while (start < end && Character.isWhitespace(text.charAt(start)))
+			start++;
+
+		while (end > start && Character.isWhitespace(text.charAt(end - 1)))
+			end--;
+
+		return text.substring(start, end);
+	}
+
+	private static int parsePullRequestId(final String comment, final int start, final int end) {
+		if (end < start)
+			return -1;
+
+		var pullRequestId = 0;
+		var digits = 0;
+
+		for (int i = start; i < end; i++) {
+			var c = comment.charAt(i);
+
+			if (c >= '0' && c <= '9') {
+				// Not a valid id if there are spaces between the digits.
+				if (digits > 0 && Character.isWhitespace(comment.charAt(i - 1)))
+					return -1;
+
+				// Not a valid id if it overflows.
+				if (pullRequestId > (Integer.MAX_VALUE - (c - '0')) / 10)
+					return -1;
+
+				pullRequestId = pullRequestId * 10 + (c - '0');
+				digits++;
+			} else if (!Character.isWhitespace(c)) {
+				return -1;
+			}
+		}
+
+		return digits > 0 ? pullRequestId : -1;
+	}
+
+	private static int indexOf(final String text, final char c, final int start, final int end) {
+		for (int i = start; i < end; i++) {
+			if (text.charAt(i) == c)
+				return i;
+		}
+
+		return -1;
+	}
+
+}
@@ -13,8 +13,7 @@ import io.tjf.releasenotes.azure.payload.Commit;
  */
 public class CommitUtils {
 
-	private static final String MERGED_TEXT = "Merged";
-	private static final String MERGED_PR_TEXT = MERGED_TEXT + " PR";
+	private static final String MERGED_PR_TEXT = "Merged PR";
 	private static final String BREAKING_CHANGE_PREFIX = "BREAKING CHANGE:";
 
 	private CommitUtils() {
@@ -27,26 +26,17 @@ public class CommitUtils {
 	 * @return pull request commit result object
 	 */
 	public static List<Commit> filterPullRequestCommits(final List<Commit> result) {
-		return result.stream().filter(c -> c.getComment().indexOf(MERGED_PR_TEXT) >= 0).collect(Collectors.toList());
+		return result.stream().filter(CommitUtils::isPullRequestCommit).collect(Collectors.toList());
 	}
 
 	/**
-	 * Return the pull request id from the commit comment.
+	 * Return {@code true} if the commit is a pull request merge commit.
 	 * 
-	 * @param comment commit comment
-	 * @return pull request id
+	 * @param commit commit object
+	 * @return {@code true} if the commit is a pull request merge commit
 	 */
-	public static int getPullRequestIdFromCommitComment(String comment) {
-		var pullRequestId = -1;
-
-		if (comment.indexOf(MERGED_PR_TEXT) >= 0) {
-			var len = MERGED_PR_TEXT.length();
-			comment = comment.substring(comment.indexOf(MERGED_PR_TEXT) + len, comment.indexOf(':'));
-			comment = allTrim(comment);
-			pullRequestId = Integer.parseInt(comment);
-		}
-
-		return pullRequestId;
+	public static boolean isPullRequestCommit(final Commit commit) {
+		return commit.getComment().indexOf(MERGED_PR_TEXT) >= 0;
 	}
 
 	/**
@@ -69,104 +59,6 @@ public class CommitUtils {
 		return labels.stream().map(IssueType::safeValueOf).filter(Objects::nonNull).findFirst().orElse(null);
 	}
 
-	/**
-	 * Return the issue type from the commit comment.
-	 * 
-	 * @param comment commit comment
-	 * @return issue type
-	 */
-	public static IssueType getIssueTypeFromCommitComment(String comment) {
-		IssueType issueType = null;
-
-		// From: "Merged PR: fix(component): a bug fix"
-		// To: "fix(component): a bug fix"
-		if (comment.indexOf(MERGED_TEXT) >= 0)
-			comment = comment.substring(comment.indexOf(':') + 1);
-
-		if (comment.indexOf(':') >= 0) {
-			// From: "fix(component): a bug fix"
-			// To: "fix(component)"
-			comment = comment.substring(0, comment.indexOf(':'));
-
-			// From: "fix(component)"
-			// To: "fix"
-			if (comment.indexOf('(') >= 0)
-				comment = comment.substring(0, comment.indexOf('('));
-
-			issueType = IssueType.safeValueOf(allTrim(comment));
-		}
-
-		return issueType;
-	}
-
-	/**
-	 * Return the component name from the commit comment.
-	 * 
-	 * @param comment commit comment
-	 * @return component name
-	 */
-	public static String getComponentFromCommitComment(String comment) {
-		var component = "";
-
-		// From: "Merged PR: fix(component): a bug fix"
-		// To: "fix(component): a bug fix"
-		if (comment.indexOf(MERGED_TEXT) >= 0)
-			comment = comment.substring(comment.indexOf(':') + 1);
-
-		if (comment.indexOf(':') >= 0) {
-			// From: "fix(component): a bug fix"
-			// To: "fix(component)"
-			comment = comment.substring(0, comment.indexOf(':'));
-
-			// From: "fix(component)"
-			// To: "component"
-			if (comment.indexOf('(') >= 0)
-				component = comment.substring(comment.indexOf('(') + 1, comment.indexOf(')'));
-		}
-
-		return component.toLowerCase();
-	}
-
-	/**
-	 * Return the formated message from the commit comment.
-	 * 
-	 * @param comment commit comment
-	 * @return formated commit message
-	 */
-	public static String getFormmatedMessageFromCommitComment(String comment) {
-		// From: "Merged PR: fix(component): a bug fix. (ISSUE-123)"
-		// To: "fix(component): a bug fix. (ISSUE-123)"
-		if (comment.indexOf(MERGED_TEXT) >= 0)
-			comment = comment.substring(comment.indexOf(':') + 1);
-
-		// From: "fix(component): a bug fix. (ISSUE-123)"
-		// To: " a bug fix. (ISSUE-123)"
-		if (comment.indexOf(':') >= 0)
-			comment = comment.substring(comment.indexOf(':') + 1);
-
-		// From: " a bug fix. (ISSUE-123)"
-		// To: " a bug fix."
-		if (comment.substring(comment.length() - 1).equals(")"))
-			comment = comment.substring(0, comment.lastIndexOf('('));
-
-		// From: " a bug fix."
-		// To: "A bug fix."
-		return capitalizeFirstLetter(allTrim(comment));
-	}
-
-	/**
-	 * Return the issue code from the commit comment.
-	 * 
-	 * @param comment commit comment
-	 * @return issue code
-	 */
-	public static String getIssueFromCommitComment(String comment) {
-		if (!comment.substring(comment.length() - 1).equals(")"))
-			return "";
-
-		return comment.substring(comment.lastIndexOf('(') + 1, comment.lastIndexOf(')')).toUpperCase();
-	}
-
 	/**
 	 * Return the breaking change text from the pull request description - if
 	 * available.
@@ -178,21 +70,13 @@ public class CommitUtils {
 		if (description == null)
 			return "";
 
-		if (!description.contains(BREAKING_CHANGE_PREFIX))
-			return "";
-
-		var text = description.substring(description.indexOf(BREAKING_CHANGE_PREFIX) + BREAKING_CHANGE_PREFIX.length());
-		text = capitalizeFirstLetter(allTrim(text));
-
-		return text;
-	}
+		var start = description.indexOf(BREAKING_CHANGE_PREFIX);
 
-	private static String allTrim(String text) {
-		return text.replaceAll("^\\s+", "").replaceAll("\\s+$", "");
-	}
+		if (start < 0)
+			return "";
 
-	private static String capitalizeFirstLetter(String text) {
-		return text.substring(0, 1).toUpperCase() + text.substring(1);
+		var text = CommitComment.trim(description, start + BREAKING_CHANGE_PREFIX.length(), description.length());
+		return CommitComment.capitalizeFirstLetter(text);
 	}
 
 }
@@ -0,0 +1,64 @@
+package io.tjf.releasenotes.helper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * An utility class for concurrent tasks manipulation.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class ConcurrencyUtils {
+
+	private ConcurrencyUtils() {
+	}
+
+	/**
+	 * Return a new fixed size executor that doesn't prevent the JVM from exiting.
+	 * 
+	 * @param threadNamePrefix name prefix of the executor threads
+	 * @param threads          number of threads
+	 * @return executor service
+	 */
+	public static ExecutorService newExecutor(final String threadNamePrefix, final int threads) {
+		var threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(threads, threadFactory);
+	}
+
+	/**
+	 * Return a new executor that creates threads as needed and reuses the idle
+	 * ones, without preventing the JVM from exiting.
+	 * 
+	 * @param threadNamePrefix name prefix of the executor threads
+	 * @return executor service
+	 */
+	public static ExecutorService newCachedExecutor(final String threadNamePrefix) {
+		var threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+		threadFactory.setDaemon(true);
+		return Executors.newCachedThreadPool(threadFactory);
+	}
+
+	/**
+	 * Wait for the future result, rethrowing the original exception if it
+	 * completed exceptionally.
+	 * 
+	 * @param future future object
+	 * @return future result
+	 */
+	public static <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+
+			throw e;
+		}
+	}
+
+}
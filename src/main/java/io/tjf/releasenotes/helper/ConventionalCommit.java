@@ -1,5 +1,7 @@
 package io.tjf.releasenotes.helper;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -19,4 +21,19 @@ public class ConventionalCommit {
 	private final String message;
 	private final String breakingChange;
 
+	/**
+	 * Ids of the other pull requests of the same issue merged into this commit.
+	 */
+	private final List<Integer> mergedPullRequestIds;
+
+	public static ConventionalCommit of(final int pullRequestId, final IssueType issueType, final String issue,
+			final String component, final String message, final String breakingChange) {
+		return of(pullRequestId, issueType, issue, component, message, breakingChange, List.of());
+	}
+
+	public List<Integer> getMergedPullRequestIds() {
+		// Commits stored by older versions don't have merged pull requests.
+		return mergedPullRequestIds != null ? mergedPullRequestIds : List.of();
+	}
+
 }
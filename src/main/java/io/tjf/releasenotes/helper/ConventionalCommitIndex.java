@@ -0,0 +1,103 @@
+package io.tjf.releasenotes.helper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.DuplicateKey;
+
+/**
+ * Collects the conventional commits of a release in order, dropping - or
+ * merging - the duplicated ones with a hash lookup per commit.
+ * <p>
+ * Commits without the key, like commits without an issue, are duplicates of
+ * each other - so only the first one is kept - unless they are all kept.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class ConventionalCommitIndex {
+
+	private static final Object NO_KEY = new Object();
+
+	private final DuplicateKey duplicateKey;
+	private final boolean mergePullRequests;
+	private final boolean keepCommitsWithoutKey;
+	private final List<ConventionalCommit> commits = new ArrayList<>();
+	private final Map<Object, Integer> positions = new HashMap<>();
+
+	public ConventionalCommitIndex(final DuplicateKey duplicateKey, final boolean mergePullRequests,
+			final boolean keepCommitsWithoutKey) {
+		this.duplicateKey = duplicateKey;
+		this.mergePullRequests = mergePullRequests;
+		this.keepCommitsWithoutKey = keepCommitsWithoutKey;
+	}
+
+	/**
+	 * Add the commit if it isn't a duplicate. Otherwise, if the pull requests are
+	 * merged, link its pull requests to the first commit with the same key. The
+	 * commits without the key are never merged, as they aren't related.
+	 * 
+	 * @param commit conventional commit
+	 */
+	public void add(final ConventionalCommit commit) {
+		if (commit == null)
+			return;
+
+		var key = getKey(commit);
+
+		if (key == null) {
+			if (keepCommitsWithoutKey || positions.putIfAbsent(NO_KEY, commits.size()) == null)
+				commits.add(commit);
+
+			return;
+		}
+
+		var position = positions.putIfAbsent(key, commits.size());
+
+		if (position == null)
+			commits.add(commit);
+		else if (mergePullRequests)
+			commits.set(position, merge(commits.get(position), commit));
+	}
+
+	/**
+	 * Return the collected commits, in the order they were first added.
+	 * 
+	 * @return list of {@link ConventionalCommit}
+	 */
+	public List<ConventionalCommit> getCommits() {
+		return commits;
+	}
+
+	private Object getKey(final ConventionalCommit commit) {
+		if (duplicateKey == DuplicateKey.PULL_REQUEST)
+			return CommitUtils.isPullRequestIdValid(commit.getPullRequestId()) ? commit.getPullRequestId() : null;
+
+		return StringUtils.isEmpty(commit.getIssue()) ? null : commit.getIssue();
+	}
+
+	private static ConventionalCommit merge(final ConventionalCommit commit, final ConventionalCommit duplicate) {
+		List<Integer> pullRequestIds = new ArrayList<>(commit.getMergedPullRequestIds());
+		addPullRequestId(pullRequestIds, commit, duplicate.getPullRequestId());
+		duplicate.getMergedPullRequestIds().forEach(id -> addPullRequestId(pullRequestIds, commit, id));
+
+		// Keep the first breaking change found, the duplicates may be the ones
+		// describing it.
+		var breakingChange = StringUtils.isEmpty(commit.getBreakingChange()) ? duplicate.getBreakingChange()
+				: commit.getBreakingChange();
+
+		return ConventionalCommit.of(commit.getPullRequestId(), commit.getIssueType(), commit.getIssue(),
+				commit.getComponent(), commit.getMessage(), breakingChange, pullRequestIds);
+	}
+
+	private static void addPullRequestId(final List<Integer> pullRequestIds, final ConventionalCommit commit,
+			final int pullRequestId) {
+		if (CommitUtils.isPullRequestIdValid(pullRequestId) && pullRequestId != commit.getPullRequestId()
+				&& !pullRequestIds.contains(pullRequestId))
+			pullRequestIds.add(pullRequestId);
+	}
+
+}
@@ -0,0 +1,71 @@
+package io.tjf.releasenotes.helper;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An utility class for files manipulation.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class FileUtils {
+
+	private FileUtils() {
+	}
+
+	/**
+	 * Create an empty temporary file in the target file directory, to be moved
+	 * over it when written.
+	 * <p>
+	 * Unlike {@link Files#createTempFile}, which only allows the owner to read
+	 * the file, the temporary file has the permissions of the target file or,
+	 * if it doesn't exist yet, the default permissions of a new file.
+	 * 
+	 * @param target target file
+	 * @return temporary file
+	 * @throws IOException if the file can't be created
+	 */
+	public static Path createTempFile(final Path target) throws IOException {
+		var file = target.toAbsolutePath();
+		Path tempFile = null;
+
+		while (tempFile == null) {
+			try {
+				tempFile = Files.createFile(file.resolveSibling(file.getFileName().toString()
+						+ Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp"));
+			} catch (FileAlreadyExistsException e) {
+				// Try another name.
+			}
+		}
+
+		var view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+
+		if (view != null && Files.exists(file))
+			Files.setPosixFilePermissions(tempFile, view.readAttributes().permissions());
+
+		return tempFile;
+	}
+
+	/**
+	 * Replace the target file with the source file, atomically if the file system
+	 * supports it.
+	 * 
+	 * @param source source file
+	 * @param target target file
+	 * @throws IOException if the file can't be moved
+	 */
+	public static void move(final Path source, final Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
@@ -1,10 +1,19 @@
 package io.tjf.releasenotes.helper;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 public enum IssueType {
 
 	FEAT("feat"), FIX("fix"), DOC("doc"), DOCS("docs"), STYLE("style"), REFACTOR("refactor"), PERF("perf"),
 	TEST("test"), CHORE("chore");
 
+	private static final Map<String, IssueType> TYPES = Arrays.stream(values())
+			.collect(Collectors.toUnmodifiableMap(IssueType::getType, Function.identity()));
+
 	private final String type;
 
 	private IssueType(String type) {
@@ -16,11 +25,10 @@ public enum IssueType {
 	}
 
 	public static IssueType safeValueOf(final String value) {
-		try {
-			return IssueType.valueOf(value.toUpperCase());
-		} catch (Exception e) {
+		if (value == null)
 			return null;
-		}
+
+		return TYPES.get(value.toLowerCase(Locale.ROOT));
 	}
 
 }
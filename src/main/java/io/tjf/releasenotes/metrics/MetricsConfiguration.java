@@ -0,0 +1,25 @@
+package io.tjf.releasenotes.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * In-memory meter registry of the execution metrics, summarized by
+ * {@link MetricsReport} at the end of the execution.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public MeterRegistry meterRegistry() {
+		return new SimpleMeterRegistry();
+	}
+
+}
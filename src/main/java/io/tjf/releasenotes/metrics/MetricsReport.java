@@ -0,0 +1,224 @@
+package io.tjf.releasenotes.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.ReportFormat;
+
+/**
+ * Writes a summary of the execution metrics - timers, counters and cache hit
+ * rates - to the report file, as JSON or text.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@Component
+public class MetricsReport {
+
+	/**
+	 * Cache lookups counter, tagged by {@code cache} and {@code result}
+	 * ({@code hit} or {@code miss}).
+	 */
+	public static final String CACHE_REQUESTS = "cache.requests";
+
+	private final MeterRegistry registry;
+	private final ReleaseNotesProperties.Report properties;
+	private final ObjectMapper mapper;
+
+	public MetricsReport(final MeterRegistry registry, final ReleaseNotesProperties properties,
+			final ObjectMapper mapper) {
+		this.registry = registry;
+		this.properties = properties.getReport();
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Register the hits and misses counters of a cache.
+	 * 
+	 * @param registry meter registry
+	 * @param cache    cache name
+	 * @param hits     cache hits
+	 * @param misses   cache misses
+	 */
+	public static void registerCacheRequests(final MeterRegistry registry, final String cache, final AtomicLong hits,
+			final AtomicLong misses) {
+		FunctionCounter.builder(CACHE_REQUESTS, hits, AtomicLong::get).tag("cache", cache).tag("result", "hit")
+				.register(registry);
+		FunctionCounter.builder(CACHE_REQUESTS, misses, AtomicLong::get).tag("cache", cache).tag("result", "miss")
+				.register(registry);
+	}
+
+	/**
+	 * Return the hits or misses counter of a cache with several instances, e.g.:
+	 * one per repository. They all get the same counter, so their lookups add up.
+	 * 
+	 * @param registry meter registry
+	 * @param cache    cache name
+	 * @param hit      {@code true} for the hits counter, {@code false} for the
+	 *                 misses one
+	 * @return cache requests counter
+	 */
+	public static Counter getCacheRequestsCounter(final MeterRegistry registry, final String cache,
+			final boolean hit) {
+		return Counter.builder(CACHE_REQUESTS).tag("cache", cache).tag("result", hit ? "hit" : "miss")
+				.register(registry);
+	}
+
+	/**
+	 * Write the report file, if configured.
+	 * 
+	 * @throws IOException if the report can't be written
+	 */
+	public void write() throws IOException {
+		if (StringUtils.isEmpty(properties.getFile()))
+			return;
+
+		Path file = Path.of(properties.getFile()).toAbsolutePath();
+		Files.createDirectories(file.getParent());
+
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			if (properties.getFormat() == ReportFormat.TEXT)
+				writeText(writer);
+			else
+				mapper.writerWithDefaultPrettyPrinter().writeValue(writer, getReport());
+		}
+	}
+
+	/**
+	 * Return the report content: the meters sorted by name and tags, and the hit
+	 * rate of each cache.
+	 * 
+	 * @return report content
+	 */
+	public Map<String, Object> getReport() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("meters", getMeters().stream().map(this::summarize).collect(Collectors.toList()));
+		report.put("caches", getCaches());
+		return report;
+	}
+
+	private void writeText(final Writer writer) throws IOException {
+		for (Meter meter : getMeters()) {
+			writer.append(meter.getId().getName()).append(formatTags(meter.getId().getTags()));
+
+			for (Map.Entry<String, Object> value : getValues(meter).entrySet())
+				writer.append(' ').append(value.getKey()).append('=').append(String.valueOf(value.getValue()));
+
+			writer.append('\n');
+		}
+
+		for (Map.Entry<String, Map<String, Object>> cache : getCaches().entrySet()) {
+			writer.append(CACHE_REQUESTS).append("{cache=").append(cache.getKey()).append('}');
+
+			for (Map.Entry<String, Object> value : cache.getValue().entrySet())
+				writer.append(' ').append(value.getKey()).append('=').append(String.valueOf(value.getValue()));
+
+			writer.append('\n');
+		}
+	}
+
+	private List<Meter> getMeters() {
+		return registry.getMeters().stream()
+				.sorted(Comparator.comparing((Meter meter) -> meter.getId().getName())
+						.thenComparing(meter -> formatTags(meter.getId().getTags())))
+				.collect(Collectors.toList());
+	}
+
+	private Map<String, Object> summarize(final Meter meter) {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("name", meter.getId().getName());
+		summary.put("tags", meter.getId().getTags().stream()
+				.collect(Collectors.toMap(Tag::getKey, Tag::getValue, (a, b) -> b, TreeMap::new)));
+		summary.putAll(getValues(meter));
+		return summary;
+	}
+
+	private Map<String, Object> getValues(final Meter meter) {
+		Map<String, Object> values = new LinkedHashMap<>();
+
+		if (meter instanceof Timer) {
+			var timer = (Timer) meter;
+			values.put("count", timer.count());
+			values.put("totalMs", round(timer.totalTime(TimeUnit.MILLISECONDS)));
+			values.put("meanMs", round(timer.mean(TimeUnit.MILLISECONDS)));
+			values.put("maxMs", round(timer.max(TimeUnit.MILLISECONDS)));
+		} else if (meter instanceof DistributionSummary) {
+			var summary = (DistributionSummary) meter;
+			values.put("count", summary.count());
+			values.put("total", round(summary.totalAmount()));
+			values.put("mean", round(summary.mean()));
+			values.put("max", round(summary.max()));
+		} else if (meter instanceof Counter) {
+			values.put("count", round(((Counter) meter).count()));
+		} else if (meter instanceof FunctionCounter) {
+			values.put("count", round(((FunctionCounter) meter).count()));
+		} else if (meter instanceof Gauge) {
+			values.put("value", round(((Gauge) meter).value()));
+		} else {
+			meter.measure().forEach(measurement -> values.put(measurement.getStatistic().getTagValueRepresentation(),
+					round(measurement.getValue())));
+		}
+
+		return values;
+	}
+
+	private Map<String, Map<String, Object>> getCaches() {
+		Map<String, double[]> lookups = new TreeMap<>();
+
+		for (Meter counter : registry.find(CACHE_REQUESTS).meters()) {
+			var cache = counter.getId().getTag("cache");
+			var hit = "hit".equals(counter.getId().getTag("result"));
+			var count = counter instanceof Counter ? ((Counter) counter).count() : ((FunctionCounter) counter).count();
+			lookups.computeIfAbsent(cache, key -> new double[2])[hit ? 0 : 1] += count;
+		}
+
+		Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+
+		lookups.forEach((cache, counts) -> {
+			Map<String, Object> values = new LinkedHashMap<>();
+			var total = counts[0] + counts[1];
+			values.put("hits", (long) counts[0]);
+			values.put("misses", (long) counts[1]);
+			values.put("hitRate", total == 0 ? 0 : round(counts[0] / total));
+			caches.put(cache, values);
+		});
+
+		return caches;
+	}
+
+	private static String formatTags(final List<Tag> tags) {
+		if (tags.isEmpty())
+			return "";
+
+		return tags.stream().map(tag -> tag.getKey() + "=" + tag.getValue()).collect(Collectors.joining(",", "{", "}"));
+	}
+
+	private static double round(final double value) {
+		return Math.round(value * 1000) / 1000.0;
+	}
+
+}
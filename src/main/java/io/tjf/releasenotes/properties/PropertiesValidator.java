@@ -0,0 +1,83 @@
+package io.tjf.releasenotes.properties;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.validation.MessageInterpolatorFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the properties that are only known when the release notes are
+ * generated - like the ones of each repository or of each server request -
+ * with the same constraints of the configuration properties.
+ *
+ * @author Rubens dos Santos Filho
+ */
+@Component
+public class PropertiesValidator {
+
+	private static final String PREFIX = "releasenotes.";
+
+	private final Validator validator;
+
+	public PropertiesValidator() {
+		// The same message interpolator of the configuration properties validation,
+		// it works without an expression language implementation.
+		this.validator = Validation.byDefaultProvider().configure()
+				.messageInterpolator(new MessageInterpolatorFactory().getObject()).buildValidatorFactory()
+				.getValidator();
+	}
+
+	/**
+	 * Return the constraint violations of the object, sorted by property path.
+	 *
+	 * @param object object to validate
+	 * @param groups validation groups, the default group if empty
+	 * @return constraint violations descriptions
+	 */
+	public List<String> validate(final Object object, final Class<?>... groups) {
+		// The @Validated properties bean is proxied for method validation, but
+		// the constraints are on the target fields.
+		var target = AopProxyUtils.getSingletonTarget(object);
+
+		return validator.validate(target != null ? target : object, groups).stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage()).sorted()
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Check that the properties have everything needed to generate the release
+	 * notes.
+	 *
+	 * @param properties release notes properties
+	 * @throws IllegalStateException if the properties are not valid
+	 */
+	public void validateGeneration(final ReleaseNotesProperties properties) {
+		validateGeneration(properties, PREFIX);
+	}
+
+	/**
+	 * Check that the Azure properties have everything needed to generate the
+	 * release notes.
+	 *
+	 * @param azure Azure properties
+	 * @throws IllegalStateException if the properties are not valid
+	 */
+	public void validateGeneration(final ReleaseNotesProperties.Azure azure) {
+		validateGeneration(azure, PREFIX + "azure.");
+	}
+
+	private void validateGeneration(final Object properties, final String prefix) {
+		List<String> violations = validate(properties, Default.class, ReleaseNotesProperties.Generation.class);
+
+		if (!violations.isEmpty())
+			throw new IllegalStateException("Invalid release notes properties: "
+					+ violations.stream().map(violation -> prefix + violation).collect(Collectors.joining(", ")));
+	}
+
+}
@@ -1,15 +1,25 @@
 package io.tjf.releasenotes.properties;
 
+import java.net.http.HttpClient;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 import org.hibernate.validator.constraints.URL;
+import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 import lombok.Getter;
@@ -28,9 +38,10 @@ public class ReleaseNotesProperties {
 	private String title;
 
 	/**
-	 * Release notes file destination.
+	 * Release notes file destination. Mandatory by command line, here or in each
+	 * repository.
 	 */
-	@NotBlank
+	@NotBlank(groups = Generation.class)
 	private String file;
 
 	/**
@@ -38,6 +49,12 @@ public class ReleaseNotesProperties {
 	 */
 	private boolean append = false;
 
+	/**
+	 * {@code true} to fetch only the commits newer than the last execution and
+	 * update only the changed releases in the file.
+	 */
+	private boolean incremental = false;
+
 	/**
 	 * Base URL link for the issues.
 	 */
@@ -45,22 +62,88 @@ public class ReleaseNotesProperties {
 	@NotBlank
 	private String issueLinkBaseUrl;
 
+	/**
+	 * Key used to find the duplicated commits of a release: only the first commit
+	 * of each key is kept.
+	 */
+	private DuplicateKey duplicateKey = DuplicateKey.ISSUE;
+
+	/**
+	 * {@code true} to merge the pull requests of the duplicated commits into the
+	 * first one, linking all of them, instead of dropping them.
+	 */
+	private boolean mergePullRequests = false;
+
+	/**
+	 * {@code true} to keep all the commits without the duplicate key, like the
+	 * commits without an issue, instead of only the first one.
+	 */
+	private boolean keepCommitsWithoutKey = false;
+
+	/**
+	 * Maximum number of repositories generated at the same time. Their Azure
+	 * requests share the same connections and concurrency limit.
+	 */
+	@Positive
+	private int maxConcurrentRepositories = 4;
+
 	/**
 	 * Azure properties.
 	 */
+	@Valid
 	private final Azure azure = new Azure();
 
+	/**
+	 * Local git repository properties.
+	 */
+	@Valid
+	private final Git git = new Git();
+
+	/**
+	 * Pull request cache properties.
+	 */
+	@Valid
+	private final Cache cache = new Cache();
+
+	/**
+	 * Other formats of the release notes, rendered from the same commits as the
+	 * file.
+	 */
+	@Valid
+	private final List<Output> outputs = new ArrayList<>();
+
+	/**
+	 * Performance report properties.
+	 */
+	@Valid
+	private final Report report = new Report();
+
+	/**
+	 * Server mode properties.
+	 */
+	@Valid
+	private final Server server = new Server();
+
 	/**
 	 * Section definitions in the order that they should appear.
 	 */
+	@Valid
 	private final List<Section> sections = new ArrayList<>();
 
 	/**
-	 * Relase notes properties.
+	 * Relase notes properties. Mandatory by command line, here or in each
+	 * repository.
 	 */
-	@NotEmpty
+	@Valid
+	@NotEmpty(groups = Generation.class)
 	private final List<Release> releases = new ArrayList<>();
 
+	/**
+	 * Repositories generated by the same execution, each one into its own file.
+	 * The properties not set in a repository are the ones set here.
+	 */
+	private final List<Repository> repositories = new ArrayList<>();
+
 	public String getPullRequestLinkBaseUrl() {
 		var organization = getAzure().getOrganization();
 		var project = getAzure().getProject();
@@ -68,6 +151,30 @@ public class ReleaseNotesProperties {
 		return String.format("https://%s.visualstudio.com/%s/_git/%s/pullrequest", organization, project, repository);
 	}
 
+	/**
+	 * Validation group of the properties only mandatory to generate release
+	 * notes, which can be set per repository or per server request.
+	 */
+	public interface Generation {
+	}
+
+	/**
+	 * Duplicated commits keys.
+	 */
+	public enum DuplicateKey {
+
+		/**
+		 * Commits with the same issue are duplicates.
+		 */
+		ISSUE,
+
+		/**
+		 * Commits with the same pull request are duplicates.
+		 */
+		PULL_REQUEST
+
+	}
+
 	/**
 	 * Azure properties
 	 */
@@ -75,6 +182,13 @@ public class ReleaseNotesProperties {
 	@Setter
 	public static class Azure {
 
+		/**
+		 * Azure DevOps services URL.
+		 */
+		@URL
+		@NotBlank
+		private String url = "https://dev.azure.com";
+
 		/**
 		 * Azure username.
 		 */
@@ -94,21 +208,389 @@ public class ReleaseNotesProperties {
 		private String organization;
 
 		/**
-		 * Azure project name.
+		 * Azure project name. Mandatory, here or in each repository.
+		 */
+		@NotBlank(groups = Generation.class)
+		private String project;
+
+		/**
+		 * Azure git source repository name. Mandatory, here or in each repository.
+		 */
+		@NotBlank(groups = Generation.class)
+		private String repository;
+
+		/**
+		 * Azure git branch name.
+		 */
+		private String branch = "master";
+
+		/**
+		 * Number of commits requested per page.
+		 */
+		@Positive
+		private int pageSize = 100;
+
+		/**
+		 * Maximum number of concurrent pull request requests.
+		 */
+		@Positive
+		private int maxConcurrency = 8;
+
+		/**
+		 * How the pull requests information is requested.
+		 */
+		private PullRequestMode pullRequestMode = PullRequestMode.SINGLE;
+
+		/**
+		 * HTTP transport properties.
+		 */
+		@Valid
+		private final Http http = new Http();
+
+		/**
+		 * Throttled requests retry properties.
+		 */
+		@Valid
+		private final Retry retry = new Retry();
+
+	}
+
+	/**
+	 * Throttled requests retry properties.
+	 */
+	@Getter
+	@Setter
+	public static class Retry {
+
+		/**
+		 * Maximum number of attempts of each request.
+		 */
+		@Positive
+		private int maxAttempts = 5;
+
+		/**
+		 * Backoff before the first retry, doubled on each new attempt.
+		 */
+		@NotNull
+		private Duration initialBackoff = Duration.ofSeconds(1);
+
+		/**
+		 * Maximum backoff between two attempts.
+		 */
+		@NotNull
+		private Duration maxBackoff = Duration.ofMinutes(1);
+
+	}
+
+	/**
+	 * HTTP transport properties.
+	 */
+	@Getter
+	@Setter
+	public static class Http {
+
+		/**
+		 * Maximum time to establish a connection.
+		 */
+		@NotNull
+		@DurationMin(nanos = 1, message = "must be greater than 0")
+		private Duration connectTimeout = Duration.ofSeconds(10);
+
+		/**
+		 * Maximum time to receive a whole response, headers and body.
+		 */
+		@NotNull
+		@DurationMin(nanos = 1, message = "must be greater than 0")
+		private Duration readTimeout = Duration.ofSeconds(60);
+
+		/**
+		 * Time that idle connections are kept open to be reused.
+		 */
+		@NotNull
+		private Duration keepAlive = Duration.ofMinutes(5);
+
+		/**
+		 * {@code true} to ask for gzip compressed responses.
+		 */
+		private boolean compression = true;
+
+		/**
+		 * Preferred HTTP version, HTTP/2 falls back to HTTP/1.1 when not supported.
+		 */
+		@NotNull
+		private HttpClient.Version version = HttpClient.Version.HTTP_2;
+
+	}
+
+	/**
+	 * Pull requests information request modes.
+	 */
+	public enum PullRequestMode {
+
+		/**
+		 * Request the information of each pull request separately.
+		 */
+		SINGLE,
+
+		/**
+		 * List all the completed pull requests of the branch at once, page by page.
+		 */
+		BULK
+
+	}
+
+	/**
+	 * Local git repository properties.
+	 */
+	@Getter
+	@Setter
+	public static class Git {
+
+		/**
+		 * Local git repository directory, the working tree or the .git directory.
+		 * If set, the commits are read from it instead of the Azure REST API.
+		 */
+		private String directory;
+
+		/**
+		 * Remote whose branches are used when the repository doesn't have a local
+		 * branch with the release branch name.
+		 */
+		@NotBlank
+		private String remote = "origin";
+
+	}
+
+	/**
+	 * Release notes output properties.
+	 */
+	@Getter
+	@Setter
+	public static class Output {
+
+		/**
+		 * Output format.
+		 */
+		@NotNull
+		private OutputFormat format;
+
+		/**
+		 * Output file destination.
+		 */
+		@NotBlank
+		private String file;
+
+	}
+
+	/**
+	 * Release notes output formats.
+	 */
+	public enum OutputFormat {
+
+		/**
+		 * Markdown document, like the release notes file.
+		 */
+		MARKDOWN,
+
+		/**
+		 * HTML document, for portals.
+		 */
+		HTML,
+
+		/**
+		 * JSON document, for tools.
+		 */
+		JSON
+
+	}
+
+	/**
+	 * Performance report properties.
+	 */
+	@Getter
+	@Setter
+	public static class Report {
+
+		/**
+		 * File where the performance report is written at the end of the execution.
+		 * No report is written if not set.
+		 */
+		private String file;
+
+		/**
+		 * Performance report format.
+		 */
+		@NotNull
+		private ReportFormat format = ReportFormat.JSON;
+
+	}
+
+	/**
+	 * Performance report formats.
+	 */
+	public enum ReportFormat {
+
+		/**
+		 * JSON document, for tools.
+		 */
+		JSON,
+
+		/**
+		 * One line per metric, for humans.
+		 */
+		TEXT
+
+	}
+
+	/**
+	 * Server mode properties.
+	 */
+	@Getter
+	@Setter
+	public static class Server {
+
+		/**
+		 * {@code true} to keep running and generate the release notes requested by
+		 * HTTP, instead of generating them once by command line.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Address the server binds to. The server has no authentication, so it
+		 * only accepts local requests by default.
 		 */
 		@NotBlank
+		private String address = "127.0.0.1";
+
+		/**
+		 * Server HTTP port.
+		 */
+		@PositiveOrZero
+		private int port = 8080;
+
+		/**
+		 * Maximum number of release notes generated at the same time. The other
+		 * requests wait for their turn.
+		 */
+		@Positive
+		private int maxConcurrentRequests = 2;
+
+		/**
+		 * Maximum size of the request body. Larger requests are rejected.
+		 */
+		@NotNull
+		private DataSize maxRequestSize = DataSize.ofKilobytes(256);
+
+		/**
+		 * Directory where the requests can write their release notes files. The
+		 * requests can only get the release notes in the response if not set.
+		 */
+		private String directory;
+
+	}
+
+	/**
+	 * Repository properties, overriding the top-level ones.
+	 */
+	@Getter
+	@Setter
+	public static class Repository {
+
+		/**
+		 * Document title.
+		 */
+		private String title;
+
+		/**
+		 * Release notes file destination.
+		 */
+		private String file;
+
+		/**
+		 * Base URL link for the issues.
+		 */
+		private String issueLinkBaseUrl;
+
+		/**
+		 * Repository Azure properties.
+		 */
+		private final RepositoryAzure azure = new RepositoryAzure();
+
+		/**
+		 * Repository local git properties.
+		 */
+		private final Git git = new Git();
+
+		/**
+		 * Other formats of the repository release notes.
+		 */
+		private final List<Output> outputs = new ArrayList<>();
+
+		/**
+		 * Section definitions in the order that they should appear.
+		 */
+		private final List<Section> sections = new ArrayList<>();
+
+		/**
+		 * Relase notes properties.
+		 */
+		private final List<Release> releases = new ArrayList<>();
+
+	}
+
+	/**
+	 * Repository Azure properties, overriding the top-level ones.
+	 */
+	@Getter
+	@Setter
+	public static class RepositoryAzure {
+
+		/**
+		 * Azure organization name.
+		 */
+		private String organization;
+
+		/**
+		 * Azure project name.
+		 */
 		private String project;
 
 		/**
 		 * Azure git source repository name.
 		 */
-		@NotBlank
 		private String repository;
 
 		/**
 		 * Azure git branch name.
 		 */
-		private String branch = "master";
+		private String branch;
+
+	}
+
+	/**
+	 * Pull request cache properties.
+	 */
+	@Getter
+	@Setter
+	public static class Cache {
+
+		/**
+		 * {@code true} to cache the completed pull requests information on disk.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Cache files directory.
+		 */
+		@NotBlank
+		private String directory = Paths.get(System.getProperty("user.home"), ".azure-release-notes-generator")
+				.toString();
+
+		/**
+		 * Maximum number of cached pull requests.
+		 */
+		@Positive
+		private int maxEntries = 10000;
 
 	}
 
@@ -142,6 +624,34 @@ public class ReleaseNotesProperties {
 		 */
 		private String branch;
 
+		/**
+		 * Ref where the release starts, exclusive: a tag, a commit id or a
+		 * {@code refs/heads/} branch. Usually the previous release tag.
+		 */
+		private String fromRef;
+
+		/**
+		 * Ref where the release ends, inclusive: a tag, a commit id or a
+		 * {@code refs/heads/} branch. The release branch if not set.
+		 */
+		private String toRef;
+
+		/**
+		 * Repository path, e.g.: {@code /products/foo}. If set, only the commits
+		 * that changed it are part of the release.
+		 */
+		private String itemPath;
+
+		/**
+		 * Return {@code true} if the release is delimited by refs instead of only
+		 * by dates.
+		 * 
+		 * @return {@code true} if the release has a from or to ref
+		 */
+		public boolean hasRefs() {
+			return StringUtils.hasText(fromRef) || StringUtils.hasText(toRef);
+		}
+
 	}
 
 	/**
@@ -169,6 +679,13 @@ public class ReleaseNotesProperties {
 		@NotEmpty
 		private List<String> labels = new ArrayList<>();
 
+		/**
+		 * Repository path, e.g.: {@code /products/foo}. If set, the section only
+		 * has the release commits that changed it, instead of the ones of the
+		 * release path.
+		 */
+		private String itemPath;
+
 	}
 
 }
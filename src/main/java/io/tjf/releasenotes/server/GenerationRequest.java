@@ -0,0 +1,48 @@
+package io.tjf.releasenotes.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Release notes requested to the server, with the same releases and sections
+ * definitions of the {@link ReleaseNotesProperties}.
+ *
+ * @author Rubens dos Santos Filho
+ */
+@Getter
+@Setter
+public class GenerationRequest {
+
+	/**
+	 * Document title. The configured title if not set.
+	 */
+	private String title;
+
+	/**
+	 * Release notes file, relative to the server directory. The release notes
+	 * are returned in the response if not set.
+	 */
+	private String file;
+
+	/**
+	 * Section definitions in the order that they should appear. The configured
+	 * sections if empty.
+	 */
+	@Valid
+	private final List<ReleaseNotesProperties.Section> sections = new ArrayList<>();
+
+	/**
+	 * Relase notes properties.
+	 */
+	@Valid
+	@NotEmpty
+	private final List<ReleaseNotesProperties.Release> releases = new ArrayList<>();
+
+}
@@ -0,0 +1,269 @@
+package io.tjf.releasenotes.server;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.tjf.releasenotes.azure.cache.PullRequestCache;
+import io.tjf.releasenotes.azure.service.PullRequestService;
+import io.tjf.releasenotes.generator.GeneratorService;
+import io.tjf.releasenotes.generator.Sections;
+import io.tjf.releasenotes.helper.ConcurrencyUtils;
+import io.tjf.releasenotes.metrics.MetricsReport;
+import io.tjf.releasenotes.properties.PropertiesValidator;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Long-running alternative to the {@code CommandProcessor}: generates the
+ * release notes requested by HTTP.
+ * <p>
+ * A {@code POST /release-notes} request with a {@link GenerationRequest} body
+ * returns the release notes markdown or, if the request has a file, writes it
+ * in the server directory. The HTTP connections and the completed pull
+ * requests information are kept between the requests, and at most
+ * {@code max-concurrent-requests} release notes are generated at the same
+ * time.
+ *
+ * @author Rubens dos Santos Filho
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "releasenotes.server", name = "enabled", havingValue = "true")
+public class ReleaseNotesServer implements ApplicationRunner {
+
+	private static final String CONTEXT_PATH = "/release-notes";
+	private static final String MARKDOWN_CONTENT_TYPE = "text/markdown; charset=utf-8";
+	private static final String TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
+
+	// Time given to the requests in progress to finish when the server stops.
+	private static final int STOP_DELAY_SECONDS = 30;
+	private static final long STOP_POLL_MILLIS = 100;
+
+	private final GeneratorService generator;
+	private final PullRequestService pullRequestService;
+	private final PullRequestCache pullRequestCache;
+	private final ReleaseNotesProperties properties;
+	private final ObjectMapper mapper;
+	private final MetricsReport report;
+	private final MeterRegistry registry;
+	private final PropertiesValidator validator;
+	private final Path directory;
+	private final AtomicInteger activeRequests = new AtomicInteger();
+
+	private HttpServer server;
+	private ExecutorService executor;
+
+	public ReleaseNotesServer(final GeneratorService generator, final PullRequestService pullRequestService,
+			final PullRequestCache pullRequestCache, final ReleaseNotesProperties properties,
+			final PropertiesValidator validator, final ObjectMapper mapper, final MetricsReport report,
+			final MeterRegistry registry) {
+		this.generator = generator;
+		this.pullRequestService = pullRequestService;
+		this.pullRequestCache = pullRequestCache;
+		this.properties = properties;
+		this.validator = validator;
+		this.mapper = mapper;
+		this.report = report;
+		this.registry = registry;
+
+		var directory = properties.getServer().getDirectory();
+		this.directory = StringUtils.hasText(directory) ? Paths.get(directory).toAbsolutePath().normalize() : null;
+	}
+
+	@Override
+	public void run(final ApplicationArguments args) throws IOException {
+		var serverProperties = properties.getServer();
+
+		// The requests have their own releases, but they are all from the
+		// configured repository.
+		validator.validateGeneration(properties.getAzure());
+
+		// The requests wait for a free thread, so this bounds the concurrent
+		// generations.
+		executor = ConcurrencyUtils.newExecutor("release-notes-server-", serverProperties.getMaxConcurrentRequests());
+		server = HttpServer.create(new InetSocketAddress(serverProperties.getAddress(), serverProperties.getPort()), 0);
+		server.createContext(CONTEXT_PATH, this::handle);
+		server.setExecutor(executor);
+		server.start();
+
+		log.info("Release notes server listening on {}", server.getAddress());
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (server == null)
+			return;
+
+		// HttpServer.stop waits for the whole delay on some JDK versions, even
+		// without requests in progress, so wait for them here instead.
+		var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(STOP_DELAY_SECONDS);
+
+		while (activeRequests.get() > 0 && System.nanoTime() < deadline)
+			Thread.sleep(STOP_POLL_MILLIS);
+
+		server.stop(0);
+		executor.shutdownNow();
+
+		try {
+			report.write();
+		} catch (IOException e) {
+			log.warn("Unable to write the performance report: {}", e.getMessage());
+		}
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		var sample = Timer.start();
+		var status = HttpURLConnection.HTTP_INTERNAL_ERROR;
+		activeRequests.incrementAndGet();
+
+		try {
+			status = process(exchange);
+		} finally {
+			exchange.close();
+			sample.stop(Timer.builder("releasenotes.server.requests").description("Release notes server requests")
+					.tag("status", String.valueOf(status)).register(registry));
+			onRequestEnd();
+		}
+	}
+
+	private int process(final HttpExchange exchange) throws IOException {
+		if (!"POST".equals(exchange.getRequestMethod()))
+			return send(exchange, HttpURLConnection.HTTP_BAD_METHOD, "Only POST requests are supported");
+
+		byte[] body;
+
+		try {
+			body = readBody(exchange);
+		} catch (NumberFormatException e) {
+			return send(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "Invalid Content-Length header");
+		}
+
+		if (body == null)
+			return send(exchange, HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+					"The request is larger than " + properties.getServer().getMaxRequestSize());
+
+		GenerationRequest request;
+
+		try {
+			request = mapper.readValue(body, GenerationRequest.class);
+		} catch (JsonProcessingException e) {
+			return send(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "Invalid request: " + e.getOriginalMessage());
+		}
+
+		var violations = validator.validate(request);
+
+		if (!violations.isEmpty())
+			return send(exchange, HttpURLConnection.HTTP_BAD_REQUEST, String.join("\n", violations));
+
+		var title = StringUtils.hasText(request.getTitle()) ? request.getTitle() : properties.getTitle();
+		var sections = new Sections(
+				request.getSections().isEmpty() ? properties.getSections() : request.getSections());
+
+		try {
+			if (request.getFile() == null) {
+				var content = new StringWriter();
+				generator.generate(content, title, request.getReleases(), sections);
+				return send(exchange, HttpURLConnection.HTTP_OK, MARKDOWN_CONTENT_TYPE, content.toString());
+			}
+
+			var file = resolve(request.getFile());
+
+			if (file == null)
+				return send(exchange, HttpURLConnection.HTTP_FORBIDDEN,
+						"The file must be inside the server directory");
+
+			Files.createDirectories(file.getParent());
+			generator.generate(file, title, request.getReleases(), sections);
+			return send(exchange, HttpURLConnection.HTTP_NO_CONTENT, null);
+		} catch (RestClientException e) {
+			log.warn("Unable to generate the requested release notes: {}", e.getMessage());
+			return send(exchange, HttpURLConnection.HTTP_BAD_GATEWAY, "Azure request failed: " + e.getMessage());
+		} catch (IOException | RuntimeException e) {
+			log.error("Unable to generate the requested release notes", e);
+			return send(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, e.getMessage());
+		}
+	}
+
+	/**
+	 * Read the request body, or return {@code null} if it's larger than the
+	 * maximum request size. Requests without a content length are read up to
+	 * the maximum size.
+	 * 
+	 * @throws NumberFormatException if the content length isn't a number
+	 */
+	private byte[] readBody(final HttpExchange exchange) throws IOException {
+		var maxSize = properties.getServer().getMaxRequestSize().toBytes();
+		var contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+
+		if (contentLength != null && Long.parseLong(contentLength.trim()) > maxSize)
+			return null;
+
+		var body = exchange.getRequestBody().readNBytes((int) Math.min(maxSize + 1, Integer.MAX_VALUE));
+		return body.length > maxSize ? null : body;
+	}
+
+	/**
+	 * Resolve the request file inside the server directory, or return
+	 * {@code null} if it's outside of it or there is no directory.
+	 */
+	private Path resolve(final String file) {
+		if (directory == null)
+			return null;
+
+		var path = directory.resolve(file).normalize();
+		return path.startsWith(directory) && !path.equals(directory) ? path : null;
+	}
+
+	private void onRequestEnd() {
+		// The completed pull requests are kept in the cache, but the others may
+		// change, so they are only reused by concurrent requests.
+		if (activeRequests.decrementAndGet() == 0)
+			pullRequestService.clearMemo();
+
+		pullRequestCache.flush();
+	}
+
+	private static int send(final HttpExchange exchange, final int status, final String message) throws IOException {
+		return send(exchange, status, TEXT_CONTENT_TYPE, message);
+	}
+
+	private static int send(final HttpExchange exchange, final int status, final String contentType,
+			final String body) throws IOException {
+		if (body == null) {
+			exchange.sendResponseHeaders(status, -1);
+			return status;
+		}
+
+		var bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		exchange.getResponseBody().write(bytes);
+		return status;
+	}
+
+}
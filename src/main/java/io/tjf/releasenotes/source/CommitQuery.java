@@ -0,0 +1,82 @@
+package io.tjf.releasenotes.source;
+
+import java.time.LocalDateTime;
+
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.Release;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+/**
+ * Represents the commits of a branch to read from a {@link CommitSource}.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+@AllArgsConstructor(staticName = "of")
+@Getter
+public class CommitQuery {
+
+	/**
+	 * Commit start date, in UTC. No limit if {@code null}.
+	 */
+	@With
+	private final LocalDateTime fromDate;
+
+	/**
+	 * Commit end date, in UTC. No limit if {@code null}.
+	 */
+	private final LocalDateTime toDate;
+
+	/**
+	 * Branch name.
+	 */
+	private final String branch;
+
+	/**
+	 * Ref whose history is excluded: a tag, a commit id or a {@code refs/heads/}
+	 * branch. No limit if {@code null}.
+	 */
+	private final String fromRef;
+
+	/**
+	 * Ref whose history is read: a tag, a commit id or a {@code refs/heads/}
+	 * branch. The branch if {@code null}.
+	 */
+	private final String toRef;
+
+	/**
+	 * Repository path whose changes are read. The whole repository if
+	 * {@code null}.
+	 */
+	@With
+	private final String itemPath;
+
+	/**
+	 * Return the query of the commits from the given branch and period.
+	 * 
+	 * @param fromDate commit start date
+	 * @param toDate   commit end date
+	 * @param branch   branch name
+	 * @return commits query
+	 */
+	public static CommitQuery of(final LocalDateTime fromDate, final LocalDateTime toDate, final String branch) {
+		return of(fromDate, toDate, branch, null, null, null);
+	}
+
+	/**
+	 * Return the query of the commits from the given release.
+	 * 
+	 * @param release release properties
+	 * @param branch  release branch name
+	 * @return commits query
+	 */
+	public static CommitQuery of(final Release release, final String branch) {
+		return of(release.getFromDate(), release.getToDate(), branch, emptyToNull(release.getFromRef()),
+				emptyToNull(release.getToRef()), emptyToNull(release.getItemPath()));
+	}
+
+	private static String emptyToNull(final String text) {
+		return text == null || text.isBlank() ? null : text;
+	}
+
+}
@@ -0,0 +1,30 @@
+package io.tjf.releasenotes.source;
+
+import java.util.stream.Stream;
+
+import io.tjf.releasenotes.azure.payload.Commit;
+
+/**
+ * Source of the commits that the release notes are generated from.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public interface CommitSource extends AutoCloseable {
+
+	/**
+	 * Return a lazy stream of the commits matching the query, newest first. The
+	 * stream must be closed after it's consumed.
+	 * 
+	 * @param query commits query
+	 * @return stream of commits
+	 */
+	Stream<Commit> streamCommits(CommitQuery query);
+
+	/**
+	 * Release the source resources.
+	 */
+	@Override
+	default void close() {
+	}
+
+}
@@ -0,0 +1,156 @@
+package io.tjf.releasenotes.source;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.springframework.util.StringUtils;
+
+import io.tjf.releasenotes.azure.payload.Commit;
+import io.tjf.releasenotes.azure.payload.GitUserDate;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+
+/**
+ * Reads the commits straight from a local git repository, loose objects and
+ * packfiles alike, without any request to Azure.
+ * <p>
+ * The commits are the ones reachable from the branch - or from the {@code to}
+ * ref and not from the {@code from} ref - filtered by their committer date in
+ * UTC and by the changed path like the Azure Commit REST API does. The branch
+ * is looked up as a local branch first and then as a branch of the configured
+ * remote, as the build agents usually only have the remote ones.
+ * 
+ * @author Rubens dos Santos Filho
+ */
+public class LocalGitCommitSource implements CommitSource {
+
+	private final Repository repository;
+	private final String remote;
+
+	public LocalGitCommitSource(final ReleaseNotesProperties.Git git) {
+		this.remote = git.getRemote();
+
+		// The directory can be the working tree or the .git directory itself.
+		var builder = new FileRepositoryBuilder().setMustExist(true)
+				.findGitDir(new File(git.getDirectory()).getAbsoluteFile());
+
+		if (builder.getGitDir() == null)
+			throw new IllegalStateException("No git repository found in " + git.getDirectory());
+
+		try {
+			this.repository = builder.build();
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to open the git repository " + builder.getGitDir(), e);
+		}
+	}
+
+	@Override
+	public Stream<Commit> streamCommits(final CommitQuery query) {
+		var walk = new RevWalk(repository);
+
+		try {
+			var toRef = query.getToRef();
+			walk.markStart(walk.parseCommit(toRef == null ? resolveBranch(query.getBranch()) : resolve(toRef)));
+
+			// Like git log from..to, the history of the from ref is excluded.
+			if (query.getFromRef() != null)
+				walk.markUninteresting(walk.parseCommit(resolve(query.getFromRef())));
+
+			walk.sort(RevSort.COMMIT_TIME_DESC);
+			walk.setRevFilter(getDateFilter(query.getFromDate(), query.getToDate()));
+
+			if (query.getItemPath() != null)
+				walk.setTreeFilter(getPathFilter(query.getItemPath()));
+		} catch (IOException e) {
+			walk.close();
+			throw new UncheckedIOException(e);
+		}
+
+		// The commits are parsed while the stream is consumed.
+		return StreamSupport.stream(walk.spliterator(), false).map(LocalGitCommitSource::toCommit)
+				.onClose(walk::close);
+	}
+
+	@Override
+	public void close() {
+		repository.close();
+	}
+
+	private ObjectId resolve(final String ref) throws IOException {
+		var objectId = repository.resolve(ref);
+
+		if (objectId == null)
+			throw new IllegalStateException("Ref " + ref + " not found in " + repository.getDirectory());
+
+		return objectId;
+	}
+
+	private ObjectId resolveBranch(final String branch) throws IOException {
+		var ref = repository.findRef(branch);
+
+		if (ref == null)
+			ref = repository.findRef(Constants.R_REMOTES + remote + "/" + branch);
+
+		if (ref == null)
+			throw new IllegalStateException("Branch " + branch + " not found in " + repository.getDirectory());
+
+		return ref.getObjectId();
+	}
+
+	private static RevFilter getDateFilter(final LocalDateTime fromDate, final LocalDateTime toDate) {
+		if (fromDate != null && toDate != null)
+			return CommitTimeRevFilter.between(toDate(fromDate), toDate(toDate));
+
+		if (fromDate != null)
+			return CommitTimeRevFilter.after(toDate(fromDate));
+
+		if (toDate != null)
+			return CommitTimeRevFilter.before(toDate(toDate));
+
+		return RevFilter.ALL;
+	}
+
+	/**
+	 * Return the filter of the commits that changed the path, like git log --
+	 * path. The Azure paths start with a slash, the git ones don't.
+	 */
+	private static TreeFilter getPathFilter(final String itemPath) {
+		var path = StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(itemPath, '/'), '/');
+
+		if (path.isEmpty())
+			return TreeFilter.ALL;
+
+		return AndTreeFilter.create(PathFilter.create(path), TreeFilter.ANY_DIFF);
+	}
+
+	private static Date toDate(final LocalDateTime date) {
+		return Date.from(date.toInstant(ZoneOffset.UTC));
+	}
+
+	private static Commit toCommit(final RevCommit commit) {
+		PersonIdent committer = commit.getCommitterIdent();
+		var date = LocalDateTime.ofInstant(committer.getWhen().toInstant(), ZoneOffset.UTC);
+
+		return Commit.of(commit.getName(), commit.getFullMessage(), null, null,
+				GitUserDate.of(committer.getName(), committer.getEmailAddress(), date));
+	}
+
+}
@@ -0,0 +1,225 @@
+package io.tjf.releasenotes.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.tjf.releasenotes.azure.payload.Commit;
+import io.tjf.releasenotes.azure.payload.GitUserDate;
+import io.tjf.releasenotes.azure.service.CommitService;
+import io.tjf.releasenotes.generator.IncrementalFetcher.FetchedRelease;
+import io.tjf.releasenotes.helper.CommitComment;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.helper.ConventionalCommitIndex;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.DuplicateKey;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.Release;
+import io.tjf.releasenotes.source.CommitQuery;
+
+/**
+ * @author Rubens dos Santos Filho
+ */
+class IncrementalFetcherTest {
+
+	private static final String BRANCH = "master";
+	private static final LocalDateTime DATE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	private CommitService commitService;
+	private IncrementalFetcher fetcher;
+	private Release release;
+
+	@BeforeEach
+	void setUp() {
+		commitService = mock(CommitService.class);
+
+		// Every commit becomes a conventional commit with its comment fields, merged
+		// by issue and keeping every commit without an issue.
+		when(commitService.getConventionalCommitsFromCommits(anyList()))
+				.thenAnswer(invocation -> invocation.<List<Commit>>getArgument(0).stream()
+						.map(IncrementalFetcherTest::conventionalCommit).collect(Collectors.toList()));
+		when(commitService.mergeConventionalCommits(anyList(), anyList())).thenAnswer(invocation -> {
+			var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, false, true);
+			invocation.<List<ConventionalCommit>>getArgument(0).forEach(index::add);
+			invocation.<List<ConventionalCommit>>getArgument(1).forEach(index::add);
+			return index.getCommits();
+		});
+
+		var properties = new ReleaseNotesProperties();
+		properties.getAzure().setBranch(BRANCH);
+		fetcher = new IncrementalFetcher(commitService, properties);
+
+		release = new Release();
+		release.setTitle("1.0.0");
+	}
+
+	@Test
+	void fetchesEverythingWithoutWatermark() {
+		when(commitService.getCommits(any())).thenReturn(
+				List.of(commit("c", "fix: c", DATE.plusMinutes(1)), commit("b", "fix: b", DATE), commit("a", "fix: a", DATE)));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, null);
+
+		assertThat(fetched.isChanged()).isTrue();
+		assertThat(messages(fetched.getWatermark())).containsExactly("C", "B", "A");
+		assertThat(fetched.getWatermark().getLastCommitDate()).isEqualTo(DATE.plusMinutes(1));
+		assertThat(fetched.getWatermark().getLastCommitIds()).containsExactly("c");
+		assertThat(fetched.getWatermark().isPullRequestsOnly()).isFalse();
+	}
+
+	@Test
+	void keepsEveryCommitIdWithTheLastDate() {
+		when(commitService.getCommits(any()))
+				.thenReturn(List.of(commit("c", "fix: c", DATE), commit("b", "fix: b", DATE), commit("a", "fix: a", DATE)));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, null);
+
+		assertThat(fetched.getWatermark().getLastCommitIds()).containsExactly("c", "b", "a");
+	}
+
+	@Test
+	void fetchesFromTheWatermarkDateAndSkipsTheProcessedCommits() {
+		var watermark = watermark(DATE, List.of("b", "a"), false, List.of(conventionalCommit(commit("b", "fix: b", DATE)),
+				conventionalCommit(commit("a", "fix: a", DATE))));
+		when(commitService.getCommits(any())).thenReturn(
+				List.of(commit("d", "feat: d", DATE.plusMinutes(1)), commit("b", "fix: b", DATE), commit("a", "fix: a", DATE)));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, watermark);
+
+		var query = ArgumentCaptor.forClass(CommitQuery.class);
+		verify(commitService).getCommits(query.capture());
+		assertThat(query.getValue().getFromDate()).isEqualTo(DATE);
+
+		var commits = ArgumentCaptor.forClass(List.class);
+		verify(commitService).getConventionalCommitsFromCommits(commits.capture());
+		assertThat(commits.getValue()).extracting("commitId").containsExactly("d");
+
+		assertThat(fetched.isChanged()).isTrue();
+		assertThat(messages(fetched.getWatermark())).containsExactly("D", "B", "A");
+		assertThat(fetched.getWatermark().getLastCommitDate()).isEqualTo(DATE.plusMinutes(1));
+		assertThat(fetched.getWatermark().getLastCommitIds()).containsExactly("d");
+	}
+
+	@Test
+	void addsNewCommitsWithTheWatermarkDate() {
+		var watermark = watermark(DATE, List.of("a"), false, List.of(conventionalCommit(commit("a", "fix: a", DATE))));
+		when(commitService.getCommits(any()))
+				.thenReturn(List.of(commit("b", "fix: b", DATE), commit("a", "fix: a", DATE)));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, watermark);
+
+		assertThat(messages(fetched.getWatermark())).containsExactly("B", "A");
+		assertThat(fetched.getWatermark().getLastCommitIds()).containsExactly("a", "b");
+	}
+
+	@Test
+	void keepsTheWatermarkWithoutNewCommits() {
+		var watermark = watermark(DATE, List.of("b", "a"), false, List.of(conventionalCommit(commit("b", "fix: b", DATE)),
+				conventionalCommit(commit("a", "fix: a", DATE))));
+		when(commitService.getCommits(any()))
+				.thenReturn(List.of(commit("b", "fix: b", DATE), commit("a", "fix: a", DATE)));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, watermark);
+
+		assertThat(fetched.isChanged()).isFalse();
+		assertThat(fetched.getWatermark()).isSameAs(watermark);
+		verify(commitService, never()).getConventionalCommitsFromCommits(anyList());
+	}
+
+	@Test
+	void mergesNewCommitsByIssue() {
+		var watermark = watermark(DATE, List.of("a"), false,
+				List.of(conventionalCommit(commit("a", "fix: a (ISSUE-1)", DATE))));
+		when(commitService.getCommits(any())).thenReturn(List.of(commit("c", "feat: c (ISSUE-2)", DATE.plusMinutes(2)),
+				commit("b", "fix: b (ISSUE-1)", DATE.plusMinutes(1))));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, watermark);
+
+		assertThat(messages(fetched.getWatermark())).containsExactly("C", "B");
+	}
+
+	@Test
+	void fetchesEverythingWhenTheReleaseChanged() {
+		var watermark = watermark(DATE, List.of("a"), false, List.of());
+		release.setToDate(DATE.plusDays(1));
+		when(commitService.getCommits(any())).thenReturn(List.of(commit("a", "fix: a", DATE)));
+
+		fetcher.fetch(release, null, watermark);
+
+		var query = ArgumentCaptor.forClass(CommitQuery.class);
+		verify(commitService).getCommits(query.capture());
+		assertThat(query.getValue().getFromDate()).isNull();
+	}
+
+	@Test
+	void fetchesEverythingWithWatermarkWithoutCommitIds() {
+		var watermark = watermark(DATE, null, false, List.of());
+		when(commitService.getCommits(any())).thenReturn(List.of(commit("a", "fix: a", DATE)));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, watermark);
+
+		var query = ArgumentCaptor.forClass(CommitQuery.class);
+		verify(commitService).getCommits(query.capture());
+		assertThat(query.getValue().getFromDate()).isNull();
+		assertThat(fetched.getWatermark().getLastCommitIds()).containsExactly("a");
+	}
+
+	@Test
+	void fetchesEverythingOnTheFirstPullRequest() {
+		var watermark = watermark(DATE, List.of("a"), false, List.of(conventionalCommit(commit("a", "fix: a", DATE))));
+		when(commitService.getCommits(any())).thenReturn(
+				List.of(commit("b", "Merged PR 1: fix: b", DATE.plusMinutes(1)), commit("a", "fix: a", DATE)));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, watermark);
+
+		assertThat(fetched.getWatermark().isPullRequestsOnly()).isTrue();
+		verify(commitService, times(2)).getCommits(any());
+	}
+
+	@Test
+	void advancesThePullRequestsWatermarkPastPlainCommits() {
+		var watermark = watermark(DATE, List.of("a"), true,
+				List.of(conventionalCommit(commit("a", "Merged PR 1: fix: a", DATE))));
+		when(commitService.getCommits(any())).thenReturn(List.of(commit("b", "fix: b", DATE.plusMinutes(1))));
+
+		FetchedRelease fetched = fetcher.fetch(release, null, watermark);
+
+		assertThat(fetched.isChanged()).isFalse();
+		assertThat(messages(fetched.getWatermark())).containsExactly("A");
+		assertThat(fetched.getWatermark().getLastCommitDate()).isEqualTo(DATE.plusMinutes(1));
+		assertThat(fetched.getWatermark().getLastCommitIds()).containsExactly("b");
+	}
+
+	private ReleaseWatermark watermark(final LocalDateTime lastCommitDate, final List<String> lastCommitIds,
+			final boolean pullRequestsOnly, final List<ConventionalCommit> commits) {
+		return ReleaseWatermark.of(release.getTitle(), BRANCH, null, null, null, null, null, null, lastCommitDate,
+				lastCommitIds, pullRequestsOnly, commits);
+	}
+
+	private static Commit commit(final String commitId, final String comment, final LocalDateTime date) {
+		return Commit.of(commitId, comment, null, null, GitUserDate.of("user", "user@example.com", date));
+	}
+
+	private static ConventionalCommit conventionalCommit(final Commit commit) {
+		var comment = CommitComment.parse(commit.getComment());
+		return ConventionalCommit.of(comment.getPullRequestId(), comment.getIssueType(), comment.getIssue(),
+				comment.getComponent(), comment.getMessage(), "");
+	}
+
+	private static List<String> messages(final ReleaseWatermark watermark) {
+		return watermark.getCommits().stream().map(ConventionalCommit::getMessage).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,213 @@
+package io.tjf.releasenotes.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.tjf.releasenotes.azure.payload.Commit;
+import io.tjf.releasenotes.azure.payload.GitUserDate;
+import io.tjf.releasenotes.azure.service.CommitService;
+import io.tjf.releasenotes.generator.ReleaseFetchPlanner.ReleaseCommits;
+import io.tjf.releasenotes.helper.ConventionalCommit;
+import io.tjf.releasenotes.helper.IssueType;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties;
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.Release;
+import io.tjf.releasenotes.source.CommitQuery;
+
+/**
+ * @author Rubens dos Santos Filho
+ */
+class ReleaseFetchPlannerTest {
+
+	private static final String BRANCH = "master";
+
+	private CommitService commitService;
+	private ReleaseFetchPlanner planner;
+
+	@BeforeEach
+	void setUp() {
+		commitService = mock(CommitService.class);
+
+		// Every commit becomes a conventional commit with the commit id as message,
+		// and every single query a conventional commit describing the query.
+		when(commitService.getConventionalCommitsFromCommits(anyList()))
+				.thenAnswer(invocation -> invocation.<List<Commit>>getArgument(0).stream()
+						.map(commit -> conventionalCommit(commit.getCommitId())).collect(Collectors.toList()));
+		when(commitService.getConventionalCommits(any()))
+				.thenAnswer(invocation -> List.of(conventionalCommit(describe(invocation.getArgument(0)))));
+
+		var properties = new ReleaseNotesProperties();
+		properties.getAzure().setBranch(BRANCH);
+		planner = new ReleaseFetchPlanner(commitService, properties);
+	}
+
+	@Test
+	void fetchesSingleReleaseWithItsOwnQuery() {
+		var release = release("1.0.0", date(1), date(10));
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(release), Set.of());
+
+		assertThat(messages(commits.get(release))).containsExactly(BRANCH + " " + date(1) + ".." + date(10));
+		verify(commitService, never()).getCommits(any());
+	}
+
+	@Test
+	void mergesContiguousReleasesIntoOneQueryAndSplitsTheCommitsByDate() {
+		var first = release("1.0.0", date(1), date(10));
+		var second = release("1.1.0", date(10).plusSeconds(1), date(20));
+		when(commitService.getCommits(any()))
+				.thenReturn(List.of(commit("c", date(15)), commit("b", date(10)), commit("a", date(1))));
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(second, first), Set.of());
+
+		var query = ArgumentCaptor.forClass(CommitQuery.class);
+		verify(commitService).getCommits(query.capture());
+		assertThat(describe(query.getValue())).isEqualTo(BRANCH + " " + date(1) + ".." + date(20));
+		assertThat(messages(commits.get(first))).containsExactly("b", "a");
+		assertThat(messages(commits.get(second))).containsExactly("c");
+		assertThat(commits.keySet()).containsExactly(second, first);
+	}
+
+	@Test
+	void mergesOverlappingReleases() {
+		var first = release("1.0.0", date(1), date(10));
+		var second = release("1.1.0", date(5), date(20));
+		when(commitService.getCommits(any())).thenReturn(List.of(commit("b", date(7)), commit("a", date(2))));
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(first, second), Set.of());
+
+		verify(commitService).getCommits(any());
+		assertThat(messages(commits.get(first))).containsExactly("b", "a");
+		assertThat(messages(commits.get(second))).containsExactly("b");
+	}
+
+	@Test
+	void commitWithoutDateIsInNoRelease() {
+		var first = release("1.0.0", date(1), date(10));
+		var second = release("1.1.0", date(5), date(20));
+		when(commitService.getCommits(any())).thenReturn(List.of(commit("b", date(7)),
+				Commit.of("a", "fix: a", null, null, GitUserDate.of("user", "user@example.com", null))));
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(first, second), Set.of());
+
+		assertThat(messages(commits.get(first))).containsExactly("b");
+		assertThat(messages(commits.get(second))).containsExactly("b");
+	}
+
+	@Test
+	void keepsReleasesWithAGapInSeparateQueries() {
+		var first = release("1.0.0", date(1), date(10));
+		var second = release("1.1.0", date(10).plusSeconds(2), date(20));
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(first, second), Set.of());
+
+		assertThat(messages(commits.get(first))).containsExactly(BRANCH + " " + date(1) + ".." + date(10));
+		assertThat(messages(commits.get(second)))
+				.containsExactly(BRANCH + " " + date(10).plusSeconds(2) + ".." + date(20));
+		verify(commitService, never()).getCommits(any());
+	}
+
+	@Test
+	void openEndedReleaseContainsTheLaterReleases() {
+		var first = release("1.0.0", date(1), null);
+		var second = release("1.1.0", date(20), date(28));
+		when(commitService.getCommits(any())).thenReturn(List.of(commit("b", date(25)), commit("a", date(2))));
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(first, second), Set.of());
+
+		var query = ArgumentCaptor.forClass(CommitQuery.class);
+		verify(commitService).getCommits(query.capture());
+		assertThat(describe(query.getValue())).isEqualTo(BRANCH + " " + date(1) + "..null");
+		assertThat(messages(commits.get(first))).containsExactly("b", "a");
+		assertThat(messages(commits.get(second))).containsExactly("b");
+	}
+
+	@Test
+	void keepsBranchesInSeparateQueries() {
+		var first = release("1.0.0", date(1), date(10));
+		var second = release("2.0.0", date(1), date(10));
+		second.setBranch("develop");
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(first, second), Set.of());
+
+		assertThat(messages(commits.get(first))).containsExactly(BRANCH + " " + date(1) + ".." + date(10));
+		assertThat(messages(commits.get(second))).containsExactly("develop " + date(1) + ".." + date(10));
+	}
+
+	@Test
+	void fetchesRefReleasesWithTheirOwnQuery() {
+		var first = release("1.0.0", date(1), date(10));
+		var second = release("1.1.0", null, null);
+		second.setFromRef("v1.0.0");
+		second.setToRef("v1.1.0");
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(first, second), Set.of());
+
+		assertThat(messages(commits.get(first))).containsExactly(BRANCH + " " + date(1) + ".." + date(10));
+		assertThat(messages(commits.get(second))).containsExactly(BRANCH + " v1.0.0..v1.1.0");
+	}
+
+	@Test
+	void fetchesEachItemPathSeparately() {
+		var release = release("1.0.0", date(1), date(10));
+
+		Map<Release, ReleaseCommits> commits = planner.fetch(List.of(release), Set.of("/docs"));
+
+		assertThat(messages(commits.get(release))).containsExactly(BRANCH + " " + date(1) + ".." + date(10));
+		assertThat(commits.get(release).getItemPathCommits().get("/docs"))
+				.extracting(ConventionalCommit::getMessage)
+				.containsExactly(BRANCH + " " + date(1) + ".." + date(10) + " /docs");
+	}
+
+	@Test
+	void fetchesNothingWithoutReleases() {
+		assertThat(planner.fetch(List.of(), Set.of("/docs"))).isEmpty();
+		verify(commitService, never()).getCommits(any());
+	}
+
+	private static Release release(final String title, final LocalDateTime fromDate, final LocalDateTime toDate) {
+		var release = new Release();
+		release.setTitle(title);
+		release.setFromDate(fromDate);
+		release.setToDate(toDate);
+		return release;
+	}
+
+	private static LocalDateTime date(final int day) {
+		return LocalDateTime.of(2020, 1, day, 0, 0);
+	}
+
+	private static Commit commit(final String commitId, final LocalDateTime date) {
+		return Commit.of(commitId, "fix: " + commitId, null, null, GitUserDate.of("user", "user@example.com", date));
+	}
+
+	private static ConventionalCommit conventionalCommit(final String message) {
+		return ConventionalCommit.of(-1, IssueType.FIX, "", "", message, "");
+	}
+
+	private static String describe(final CommitQuery query) {
+		var description = query.getBranch() + " "
+				+ (query.getToRef() != null ? query.getFromRef() + ".." + query.getToRef()
+						: query.getFromDate() + ".." + query.getToDate());
+		return query.getItemPath() == null ? description : description + " " + query.getItemPath();
+	}
+
+	private static List<String> messages(final ReleaseCommits commits) {
+		return commits.getCommits().stream().map(ConventionalCommit::getMessage).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,66 @@
+package io.tjf.releasenotes.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Rubens dos Santos Filho
+ */
+class ReleaseNotesSplicerTest {
+
+	private static final String DOCUMENT = "# Release Notes\n\n## 1.1.0\n\n- New\n\n***\n\n## 1.0.0\n\n- Old\n\n***\n\n";
+
+	@Test
+	void replacesTheReleaseBlock() {
+		var spliced = ReleaseNotesSplicer.splice(DOCUMENT, Map.of("1.0.0", "## 1.0.0\n\n- Changed\n\n***\n\n"));
+
+		assertThat(spliced)
+				.isEqualTo("# Release Notes\n\n## 1.1.0\n\n- New\n\n***\n\n## 1.0.0\n\n- Changed\n\n***\n\n");
+	}
+
+	@Test
+	void insertsMissingReleasesBeforeTheFirstRelease() {
+		Map<String, String> releases = new LinkedHashMap<>();
+		releases.put("1.3.0", "## 1.3.0\n\n");
+		releases.put("1.2.0", "## 1.2.0\n\n");
+
+		var spliced = ReleaseNotesSplicer.splice(DOCUMENT, releases);
+
+		assertThat(spliced).isEqualTo(
+				"# Release Notes\n\n## 1.3.0\n\n## 1.2.0\n\n## 1.1.0\n\n- New\n\n***\n\n## 1.0.0\n\n- Old\n\n***\n\n");
+	}
+
+	@Test
+	void appendsReleasesToDocumentWithoutReleases() {
+		var spliced = ReleaseNotesSplicer.splice("# Release Notes\n\n", Map.of("1.0.0", "## 1.0.0\n\n"));
+
+		assertThat(spliced).isEqualTo("# Release Notes\n\n## 1.0.0\n\n");
+	}
+
+	@Test
+	void keepsAppendedDocuments() {
+		var document = DOCUMENT + "# Older Release Notes\n\n## 1.0.0\n\n- Older\n\n";
+
+		var spliced = ReleaseNotesSplicer.splice(document, Map.of("1.1.0", "## 1.1.0\n\n- Changed\n\n"));
+
+		assertThat(spliced).isEqualTo("# Release Notes\n\n## 1.1.0\n\n- Changed\n\n## 1.0.0\n\n- Old\n\n***\n\n"
+				+ "# Older Release Notes\n\n## 1.0.0\n\n- Older\n\n");
+	}
+
+	@Test
+	void matchesTheTrimmedReleaseTitle() {
+		var spliced = ReleaseNotesSplicer.splice("# T\n\n## 1.0.0  \n\n- Old\n", Map.of("1.0.0", "## 1.0.0\n\n- New\n"));
+
+		assertThat(spliced).isEqualTo("# T\n\n## 1.0.0\n\n- New\n");
+	}
+
+	@Test
+	void keepsTheDocumentWithoutReleases() {
+		assertThat(ReleaseNotesSplicer.splice(DOCUMENT, Map.of())).isEqualTo(DOCUMENT);
+	}
+
+}
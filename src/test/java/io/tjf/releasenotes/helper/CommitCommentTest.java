@@ -0,0 +1,163 @@
+package io.tjf.releasenotes.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Rubens dos Santos Filho
+ */
+class CommitCommentTest {
+
+	@Test
+	void parsesMergedPullRequestComment() {
+		var comment = CommitComment.parse("Merged PR 123: fix(Component): a bug fix. (issue-1)");
+
+		assertThat(comment.isPullRequest()).isTrue();
+		assertThat(comment.getPullRequestId()).isEqualTo(123);
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FIX);
+		assertThat(comment.getComponent()).isEqualTo("component");
+		assertThat(comment.getMessage()).isEqualTo("A bug fix.");
+		assertThat(comment.getIssue()).isEqualTo("ISSUE-1");
+	}
+
+	@Test
+	void parsesCommentWithoutOptionalParts() {
+		var comment = CommitComment.parse("feat: a new feature");
+
+		assertThat(comment.isPullRequest()).isFalse();
+		assertThat(comment.getPullRequestId()).isEqualTo(-1);
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FEAT);
+		assertThat(comment.getComponent()).isEmpty();
+		assertThat(comment.getMessage()).isEqualTo("A new feature");
+		assertThat(comment.getIssue()).isEmpty();
+	}
+
+	@Test
+	void parsesIssueTypeIgnoringCase() {
+		assertThat(CommitComment.parse("DOCS: a doc").getIssueType()).isEqualTo(IssueType.DOCS);
+	}
+
+	@Test
+	void unknownIssueTypeHasNoType() {
+		var comment = CommitComment.parse("wip: a change");
+
+		assertThat(comment.getIssueType()).isNull();
+		assertThat(comment.getMessage()).isEqualTo("A change");
+	}
+
+	@Test
+	void commentWithoutHeaderHasNoType() {
+		var comment = CommitComment.parse("a plain message");
+
+		assertThat(comment.getIssueType()).isNull();
+		assertThat(comment.getMessage()).isEqualTo("A plain message");
+	}
+
+	@Test
+	void mergedAfterTheHeaderIsPartOfTheMessage() {
+		var comment = CommitComment.parse("fix: Merged the loader");
+
+		assertThat(comment.isPullRequest()).isFalse();
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FIX);
+		assertThat(comment.getMessage()).isEqualTo("Merged the loader");
+	}
+
+	@Test
+	void mergedWithoutPullRequestIsStripped() {
+		var comment = CommitComment.parse("Merged branch: fix: a bug");
+
+		assertThat(comment.isPullRequest()).isFalse();
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FIX);
+		assertThat(comment.getMessage()).isEqualTo("A bug");
+	}
+
+	@Test
+	void trimsTheComponent() {
+		assertThat(CommitComment.parse("fix( Core ): a bug").getComponent()).isEqualTo("core");
+	}
+
+	@Test
+	void unclosedComponentEndsAtTheHeader() {
+		var comment = CommitComment.parse("fix(core: a bug");
+
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FIX);
+		assertThat(comment.getComponent()).isEqualTo("core");
+		assertThat(comment.getMessage()).isEqualTo("A bug");
+	}
+
+	@Test
+	void trailingParenthesisWithoutOpeningOneIsNotAnIssue() {
+		var comment = CommitComment.parse("fix(core): a bug)");
+
+		assertThat(comment.getComponent()).isEqualTo("core");
+		assertThat(comment.getMessage()).isEqualTo("A bug)");
+		assertThat(comment.getIssue()).isEmpty();
+	}
+
+	@Test
+	void issueIsTheLastParenthesisOfTheMessage() {
+		var comment = CommitComment.parse("fix: a bug (in the loader) (tjf-2)");
+
+		assertThat(comment.getMessage()).isEqualTo("A bug (in the loader)");
+		assertThat(comment.getIssue()).isEqualTo("TJF-2");
+	}
+
+	@Test
+	void pullRequestWithoutIdHasInvalidId() {
+		var comment = CommitComment.parse("Merged PR: fix: a bug");
+
+		assertThat(comment.isPullRequest()).isTrue();
+		assertThat(comment.getPullRequestId()).isEqualTo(-1);
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FIX);
+	}
+
+	@Test
+	void pullRequestIdWithOtherCharactersIsInvalid() {
+		assertThat(CommitComment.parse("Merged PR +12: fix: a bug").getPullRequestId()).isEqualTo(-1);
+		assertThat(CommitComment.parse("Merged PR 1 2: fix: a bug").getPullRequestId()).isEqualTo(-1);
+		assertThat(CommitComment.parse("Merged PR 12a: fix: a bug").getPullRequestId()).isEqualTo(-1);
+	}
+
+	@Test
+	void overflowingPullRequestIdIsInvalid() {
+		assertThat(CommitComment.parse("Merged PR 2147483647: fix: a bug").getPullRequestId())
+				.isEqualTo(Integer.MAX_VALUE);
+		assertThat(CommitComment.parse("Merged PR 2147483648: fix: a bug").getPullRequestId()).isEqualTo(-1);
+	}
+
+	@Test
+	void pullRequestAfterTheFirstColonHasInvalidId() {
+		var comment = CommitComment.parse("fix: Merged PR 12 again");
+
+		assertThat(comment.getPullRequestId()).isEqualTo(-1);
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FIX);
+		assertThat(comment.getMessage()).isEqualTo("Merged PR 12 again");
+	}
+
+	@Test
+	void emptyMessageIsEmpty() {
+		var comment = CommitComment.parse("fix(core):   ");
+
+		assertThat(comment.getIssueType()).isEqualTo(IssueType.FIX);
+		assertThat(comment.getMessage()).isEmpty();
+	}
+
+	@Test
+	void emptyCommentHasEmptyFields() {
+		var comment = CommitComment.parse("");
+
+		assertThat(comment.isPullRequest()).isFalse();
+		assertThat(comment.getIssueType()).isNull();
+		assertThat(comment.getComponent()).isEmpty();
+		assertThat(comment.getMessage()).isEmpty();
+		assertThat(comment.getIssue()).isEmpty();
+	}
+
+	@Test
+	void trimsUnicodeWhitespaces() {
+		assertThat(CommitComment.trim("\u2003 a bug\t\u2003", 0, 9)).isEqualTo("a bug");
+		assertThat(CommitComment.trim("fix: a bug", 4, 7)).isEqualTo("a");
+	}
+
+}
@@ -0,0 +1,112 @@
+package io.tjf.releasenotes.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.tjf.releasenotes.properties.ReleaseNotesProperties.DuplicateKey;
+
+/**
+ * @author Rubens dos Santos Filho
+ */
+class ConventionalCommitIndexTest {
+
+	@Test
+	void keepsTheFirstCommitOfEachIssue() {
+		var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, false, false);
+		index.add(commit(1, "ISSUE-1", "First", ""));
+		index.add(commit(2, "ISSUE-2", "Second", ""));
+		index.add(commit(3, "ISSUE-1", "Third", ""));
+
+		assertThat(messages(index)).containsExactly("First", "Second");
+		assertThat(index.getCommits().get(0).getMergedPullRequestIds()).isEmpty();
+	}
+
+	@Test
+	void keepsOnlyTheFirstCommitWithoutIssueByDefault() {
+		var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, false, false);
+		index.add(commit(1, "", "First", ""));
+		index.add(commit(2, "ISSUE-1", "Second", ""));
+		index.add(commit(3, "", "Third", ""));
+
+		assertThat(messages(index)).containsExactly("First", "Second");
+	}
+
+	@Test
+	void keepsEveryCommitWithoutKeyWhenAsked() {
+		var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, false, true);
+		index.add(commit(1, "", "First", ""));
+		index.add(commit(2, "ISSUE-1", "Second", ""));
+		index.add(commit(3, "", "Third", ""));
+		index.add(commit(4, "ISSUE-1", "Fourth", ""));
+
+		assertThat(messages(index)).containsExactly("First", "Second", "Third");
+	}
+
+	@Test
+	void usesThePullRequestAsKey() {
+		var index = new ConventionalCommitIndex(DuplicateKey.PULL_REQUEST, false, false);
+		index.add(commit(1, "ISSUE-1", "First", ""));
+		index.add(commit(2, "ISSUE-1", "Second", ""));
+		index.add(commit(1, "ISSUE-2", "Third", ""));
+		index.add(commit(-1, "ISSUE-3", "Fourth", ""));
+		index.add(commit(-1, "ISSUE-4", "Fifth", ""));
+
+		assertThat(messages(index)).containsExactly("First", "Second", "Fourth");
+	}
+
+	@Test
+	void mergesThePullRequestsOfTheDuplicates() {
+		var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, true, false);
+		index.add(commit(1, "ISSUE-1", "First", ""));
+		index.add(commit(2, "ISSUE-1", "Second", ""));
+		index.add(ConventionalCommit.of(3, null, "ISSUE-1", "", "Third", "", List.of(1, 2, 4)));
+		index.add(commit(-1, "ISSUE-1", "Fourth", ""));
+
+		assertThat(messages(index)).containsExactly("First");
+		assertThat(index.getCommits().get(0).getPullRequestId()).isEqualTo(1);
+		assertThat(index.getCommits().get(0).getMergedPullRequestIds()).containsExactly(2, 3, 4);
+	}
+
+	@Test
+	void keepsTheFirstBreakingChange() {
+		var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, true, false);
+		index.add(commit(1, "ISSUE-1", "First", ""));
+		index.add(commit(2, "ISSUE-1", "Second", "First change"));
+		index.add(commit(3, "ISSUE-1", "Third", "Second change"));
+
+		assertThat(index.getCommits()).extracting(ConventionalCommit::getBreakingChange).containsExactly("First change");
+	}
+
+	@Test
+	void neverMergesCommitsWithoutKey() {
+		var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, true, false);
+		index.add(commit(1, "", "First", ""));
+		index.add(commit(2, "", "Second", ""));
+
+		assertThat(messages(index)).containsExactly("First");
+		assertThat(index.getCommits().get(0).getMergedPullRequestIds()).isEmpty();
+	}
+
+	@Test
+	void ignoresNullCommits() {
+		var index = new ConventionalCommitIndex(DuplicateKey.ISSUE, false, false);
+		index.add(null);
+		index.add(commit(1, "ISSUE-1", "First", ""));
+
+		assertThat(messages(index)).containsExactly("First");
+	}
+
+	private static ConventionalCommit commit(final int pullRequestId, final String issue, final String message,
+			final String breakingChange) {
+		return ConventionalCommit.of(pullRequestId, IssueType.FIX, issue, "", message, breakingChange);
+	}
+
+	private static List<String> messages(final ConventionalCommitIndex index) {
+		return index.getCommits().stream().map(ConventionalCommit::getMessage).collect(Collectors.toList());
+	}
+
+}